@@ -1,10 +1,11 @@
--- Create sequence only if it doesn't exist
+-- Create sequence only if it doesn't exist.
+-- INCREMENT BY must match the allocationSize on Task so Hibernate can hand out ids in blocks of 50.
 DO $$
 BEGIN
   IF NOT EXISTS (SELECT 1 FROM pg_class WHERE relkind = 'S' AND relname = 'task_sequence') THEN
 CREATE SEQUENCE task_sequence
   START WITH 1
-  INCREMENT BY 1
+  INCREMENT BY 50
   NO MINVALUE
   NO MAXVALUE
   CACHE 1;
@@ -18,7 +19,36 @@ CREATE TABLE IF NOT EXISTS task (
   title VARCHAR(255) NOT NULL,
   description VARCHAR(1000),
   status VARCHAR(255) NOT NULL,
-  due_date DATE NOT NULL
+  due_date DATE NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0
+  );
+
+-- Optimistic locking column for tables created before it existed
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Keyset paging walks tasks in (due_date, id) order, optionally narrowed by status
+CREATE INDEX IF NOT EXISTS task_due_date_id_idx ON task (due_date, id);
+CREATE INDEX IF NOT EXISTS task_status_due_date_id_idx ON task (status, due_date, id);
+-- Lookups by title (TaskRepository.findByTitle)
+CREATE INDEX IF NOT EXISTS task_title_idx ON task (title);
+
+-- Completed tasks moved out of task by the archiver (tasks.archive), still readable by id
+CREATE TABLE IF NOT EXISTS task_archive (
+  id BIGINT PRIMARY KEY,
+  title VARCHAR(255) NOT NULL,
+  description VARCHAR(1000),
+  status VARCHAR(255) NOT NULL,
+  due_date DATE NOT NULL,
+  version BIGINT NOT NULL,
+  archived_at TIMESTAMPTZ NOT NULL DEFAULT now()
+  );
+
+-- Archived tasks by status and due date, kept by the archiver so statistics never read task_archive
+CREATE TABLE IF NOT EXISTS task_archive_count (
+  status VARCHAR(255) NOT NULL,
+  due_date DATE NOT NULL,
+  task_count BIGINT NOT NULL,
+  PRIMARY KEY (status, due_date)
   );
 
 -- Insert data only if table is empty
@@ -24,7 +24,7 @@ import java.nio.charset.StandardCharsets;
 public abstract class BaseIT {
 
     @ServiceConnection
-    private static final PostgreSQLContainer<?> postgreSQLContainer =
+    protected static final PostgreSQLContainer<?> postgreSQLContainer =
         new PostgreSQLContainer<>("postgres:15")
             .withInitScript("data/init.sql");
 
@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.Application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Configured through spring.datasource, as a deployment is, rather than with a service connection, which would
+// supply the JdbcConnectionDetails bean that Spring Boot otherwise stops defining once the replica is configured.
+@SpringBootTest(
+    classes = Application.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "tasks.datasource.replica.hikari.data-source-properties.ApplicationName=replica")
+class ReadReplicaDataSourceTest {
+
+    private static final String APPLICATION_NAME = "select current_setting('application_name')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<JdbcConnectionDetails> connectionDetails;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", BaseIT.postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", BaseIT.postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", BaseIT.postgreSQLContainer::getPassword);
+        registry.add("tasks.datasource.replica.url", BaseIT.postgreSQLContainer::getJdbcUrl);
+    }
+
+    @Test
+    void shouldBuildBothPoolsFromSpringDatasourceSettings() {
+        assertThat(connectionDetails.getIfAvailable()).isNull();
+        assertThat(applicationName(true)).isEqualTo("replica");
+        assertThat(applicationName(false)).isNotEqualTo("replica");
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+    }
+}
@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+// The "replica" is the same database, told apart by the application name its pool connects with.
+@TestPropertySource(properties = {
+    "tasks.datasource.replica.hikari.data-source-properties.ApplicationName=replica",
+    "tasks.datasource.replica.read-your-writes-window=1m"
+})
+class ReadReplicaTest extends BaseIT {
+
+    private static final String APPLICATION_NAME = "select current_setting('application_name')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        registry.add("tasks.datasource.replica.url", postgreSQLContainer::getJdbcUrl);
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToTheReplica() {
+        assertThat(applicationName(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldSendReadWriteTransactionsToThePrimary() {
+        assertThat(applicationName(false)).isNotEqualTo("replica");
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToThePrimaryWhenAsked() {
+        assertThat(ReadRouting.onPrimary(() -> applicationName(true))).isNotEqualTo("replica");
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldNotTagPagesReadFromTheReplica() {
+        RestAssured.given()
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .header(HttpHeaders.ETAG, nullValue());
+    }
+
+    @Test
+    void shouldReadFromThePrimaryAfterTheClientsOwnWrite() {
+        String writtenAt = RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body(readResource("/requests/taskRequest.json"))
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract().header(ReadYourWritesFilter.WRITTEN_AT);
+
+        RestAssured.given()
+            .header(ReadYourWritesFilter.WRITTEN_AT, writtenAt)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .header(HttpHeaders.ETAG, notNullValue());
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+    }
+}
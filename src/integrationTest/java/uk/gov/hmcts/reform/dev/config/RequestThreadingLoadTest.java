@@ -0,0 +1,196 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.StreamUtils;
+import uk.gov.hmcts.reform.dev.Application;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on Tomcat's platform-thread pool and then on virtual threads, against the same Postgres
+ * with a pool of only {@value #POOL_SIZE} connections, and has {@value #CLIENTS} clients at once each create a task,
+ * read it, change its status and list tasks over HTTP. Every request must succeed in both modes, and while on
+ * virtual threads none may be pinned to its carrier, which JFR reports as {@value #PINNED} events. The latencies are
+ * logged for comparing the modes.
+ */
+@Slf4j
+class RequestThreadingLoadTest {
+
+    private static final int CLIENTS = 500;
+    private static final int WARM_UP_CLIENTS = 20;
+    private static final int POOL_SIZE = 4;
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldServeEveryClientWithoutPinningVirtualThreads(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext app = start(virtualThreads);
+             Recording recording = new Recording()) {
+            assertThat(app.getBean(DataSource.class) instanceof BulkheadDataSource).isEqualTo(virtualThreads);
+            Load load = new Load(app.getEnvironment().getRequiredProperty("local.server.port", Integer.class));
+            load.run(WARM_UP_CLIENTS);
+            load.latencies.clear();
+
+            recording.enable(PINNED).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            long started = System.nanoTime();
+            load.run(CLIENTS);
+            long elapsed = System.nanoTime() - started;
+            recording.stop();
+
+            report(virtualThreads, load.latencies, elapsed);
+            assertThat(pinned(recording))
+                .as("virtual threads pinned while blocked")
+                .isEmpty();
+            new ResourceDatabasePopulator(new ClassPathResource("data/clearAll.sql"))
+                .execute(app.getBean(DataSource.class));
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(Application.class)
+            .properties(
+                "server.port=0",
+                "spring.docker.compose.enabled=false",
+                "spring.datasource.url=" + BaseIT.postgreSQLContainer.getJdbcUrl(),
+                "spring.datasource.username=" + BaseIT.postgreSQLContainer.getUsername(),
+                "spring.datasource.password=" + BaseIT.postgreSQLContainer.getPassword(),
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "spring.threads.virtual.enabled=" + virtualThreads)
+            .run();
+    }
+
+    private static void report(boolean virtualThreads, Queue<Long> latencies, long elapsed) {
+        List<Long> sorted = latencies.stream().sorted().toList();
+        log.info("{} threads: {} requests in {} ms, median {} ms, p99 {} ms, max {} ms",
+                 virtualThreads ? "Virtual" : "Platform", sorted.size(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                 millis(sorted, 0.5), millis(sorted, 0.99), millis(sorted, 1.0));
+    }
+
+    private static long millis(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(index, 0)));
+    }
+
+    private static List<String> pinned(Recording recording) throws IOException {
+        Path file = Files.createTempFile("threading", ".jfr");
+        try {
+            recording.dump(file);
+            List<String> pinned = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (PINNED.equals(event.getEventType().getName())) {
+                    pinned.add(event.getStackTrace() == null ? "(no stack trace)" : frames(event));
+                }
+            }
+            return pinned;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String frames(RecordedEvent event) {
+        return event.getStackTrace().getFrames().stream()
+            .limit(12)
+            .map(RecordedFrame::toString)
+            .collect(Collectors.joining("\n  ", "\n  ", ""));
+    }
+
+    /**
+     * Clients sharing one {@link HttpClient}, each running its requests one after another without a thread of its
+     * own, so the only virtual threads in the JVM are the server's.
+     */
+    private final class Load {
+
+        private final HttpClient http = HttpClient.newHttpClient();
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final String tasks;
+        private final String task;
+        private final String statusUpdate;
+
+        private Load(int port) throws IOException {
+            this.tasks = "http://localhost:" + port + "/v1/tasks";
+            this.task = resource("/requests/taskRequest.json");
+            this.statusUpdate = resource("/requests/statusUpdateRequest.json");
+        }
+
+        private void run(int clients) {
+            List<CompletableFuture<String>> running = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                running.add(client());
+            }
+            CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+        }
+
+        private CompletableFuture<String> client() {
+            return send(json(URI.create(tasks)).POST(HttpRequest.BodyPublishers.ofString(task)), HttpStatus.CREATED)
+                .thenApply(this::id)
+                .thenCompose(id -> send(HttpRequest.newBuilder(URI.create(tasks + "/" + id)), HttpStatus.OK)
+                    .thenCompose(read -> send(
+                        json(URI.create(tasks + "/" + id + "/status"))
+                            .method("PATCH", HttpRequest.BodyPublishers.ofString(statusUpdate)),
+                        HttpStatus.OK)))
+                .thenCompose(changed -> send(HttpRequest.newBuilder(URI.create(tasks + "?limit=20")), HttpStatus.OK));
+        }
+
+        private CompletableFuture<String> send(HttpRequest.Builder builder, HttpStatus expected) {
+            HttpRequest request = builder.build();
+            long started = System.nanoTime();
+            return http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+                latencies.add(System.nanoTime() - started);
+                assertThat(response.statusCode())
+                    .as("%s %s", request.method(), request.uri())
+                    .isEqualTo(expected.value());
+                return response.body();
+            });
+        }
+
+        private long id(String body) {
+            try {
+                return objectMapper.readTree(body).get("id").asLong();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private HttpRequest.Builder json(URI uri) {
+            return HttpRequest.newBuilder(uri).header("Content-Type", "application/json");
+        }
+
+        private String resource(String name) throws IOException {
+            return StreamUtils.copyToString(getClass().getResourceAsStream(name), StandardCharsets.UTF_8);
+        }
+    }
+}
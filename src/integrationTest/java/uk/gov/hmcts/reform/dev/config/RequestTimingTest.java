@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+
+@TestPropertySource(properties = "tasks.timing.enabled=true")
+class RequestTimingTest extends BaseIT {
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldBreakDownAnUpdateInServerTimingHeader() {
+        Long taskId = taskRepository.findByTitle("Schedule team meeting").getId();
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body(readResource("/requests/taskUpdateRequest.json"))
+            .when().put("v1/tasks/" + taskId)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .header(RequestTimingFilter.SERVER_TIMING, allOf(
+                containsString("bind;dur="),
+                containsString("validate;dur="),
+                containsString("service;dur="),
+                containsString("db;dur="),
+                containsString("total;dur=")
+            ));
+    }
+}
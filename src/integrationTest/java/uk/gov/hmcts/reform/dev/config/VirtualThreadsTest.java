@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@TestPropertySource(properties = {
+    "spring.threads.virtual.enabled=true",
+    "spring.datasource.hikari.maximum-pool-size=4"
+})
+class VirtualThreadsTest extends BaseIT {
+
+    private static final int CONCURRENT_REQUESTS = 500;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldPutBulkheadInFrontOfPool() {
+        assertInstanceOf(BulkheadDataSource.class, dataSource);
+        assertEquals(0, meterRegistry.get("tasks.datasource.bulkhead.waiting").tagKeys("pool").gauge().value());
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldServeManyMoreConcurrentRequestsThanConnections() {
+        HttpClient client = HttpClient.newHttpClient();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + serverPort + "/v1/tasks"))
+                .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            assertEquals(HttpStatus.OK.value(), response.join().statusCode());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import uk.gov.hmcts.reform.dev.config.BaseIT;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+@TestPropertySource(properties = "tasks.bulk.chunk-size=2")
+class BulkTaskUpdateTest extends BaseIT {
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldSetStatusOfEveryMatchingTaskAcrossChunks() {
+        List<Integer> ids = RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{\"where\": {\"statuses\": [\"PENDING\", \"IN_PROGRESS\"], \"dueBefore\": \"2025-06-28\"},"
+                      + " \"status\": \"COMPLETED\"}")
+            .when().post("v1/tasks/bulk/status")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("count", is(5))
+            .extract().path("ids");
+
+        List<Task> updated = taskRepository.findAllById(ids.stream().map(Long::valueOf).toList());
+        assertThat(updated).extracting(Task::getTitle).containsExactlyInAnyOrder(
+            "Follow up on vendor payment", "Schedule team meeting", "Update contact list",
+            "Scan and archive invoices", "Prepare monthly report");
+        assertThat(updated).allSatisfy(task -> {
+            assertThat(task.getStatus()).isEqualTo(Status.COMPLETED);
+            assertThat(task.getVersion()).isEqualTo(1L);
+        });
+        assertThat(taskRepository.findByTitle("Order office supplies").getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldDeleteEveryMatchingTask() {
+        Long meeting = taskRepository.findByTitle("Schedule team meeting").getId();
+        Long emails = taskRepository.findByTitle("Archive old emails").getId();
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{\"ids\": [" + meeting + ", " + emails + ", 999999], \"statuses\": [\"COMPLETED\"]}")
+            .when().post("v1/tasks/bulk/delete")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("count", is(1))
+            .body("ids", contains(emails.intValue()));
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{\"statuses\": [\"COMPLETED\"]}")
+            .when().post("v1/tasks/bulk/delete")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("count", is(2));
+
+        assertThat(taskRepository.count()).isEqualTo(7);
+        assertThat(taskRepository.existsById(meeting)).isTrue();
+    }
+
+    @Test
+    void shouldReturnBadRequestWithoutAnyCriteria() {
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{\"where\": {}, \"status\": \"COMPLETED\"}")
+            .when().post("v1/tasks/bulk/status")
+            .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{}")
+            .when().post("v1/tasks/bulk/delete")
+            .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+}
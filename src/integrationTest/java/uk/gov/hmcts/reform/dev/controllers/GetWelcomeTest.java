@@ -7,6 +7,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import uk.gov.hmcts.reform.dev.services.StatusUpdateCoalescer;
+import uk.gov.hmcts.reform.dev.services.TaskChangeFeed;
 import uk.gov.hmcts.reform.dev.services.TaskService;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,6 +24,12 @@ class GetWelcomeTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private StatusUpdateCoalescer statusUpdates;
+
+    @MockitoBean
+    private TaskChangeFeed changeFeed;
+
     @DisplayName("Should welcome upon root request with 200 response code")
     @Test
     void welcomeRootEndpoint() throws Exception {
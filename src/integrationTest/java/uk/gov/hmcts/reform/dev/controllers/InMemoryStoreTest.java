@@ -0,0 +1,81 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import uk.gov.hmcts.reform.dev.Application;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+// The memory profile turns the datasource and JPA off, so this runs without Postgres rather than extending BaseIT.
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("memory")
+class InMemoryStoreTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = serverPort;
+    }
+
+    @Test
+    void shouldCreatePageChangeAndCountTasksWithoutADatabase() {
+        long first = create("Book conference room", "2025-06-20");
+        create("Prepare monthly report", "2025-06-27");
+        create("Send calendar invites", "2025-06-19");
+
+        String nextCursor = RestAssured.given()
+            .queryParam("limit", 2)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.title", contains("Send calendar invites", "Book conference room"))
+            .body("nextCursor", notNullValue())
+            .extract().path("nextCursor");
+        RestAssured.given()
+            .queryParam("limit", 2)
+            .queryParam("cursor", nextCursor)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.title", contains("Prepare monthly report"))
+            .body("nextCursor", nullValue());
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{\"status\": \"COMPLETED\"}")
+            .when().patch("v1/tasks/{id}/status", first)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("status", is("COMPLETED"))
+            .body("version", is(1));
+
+        RestAssured.given()
+            .when().get("v1/tasks/stats")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("byStatus.PENDING", is(2))
+            .body("byStatus.COMPLETED", is(1))
+            .body("total", is(3));
+    }
+
+    private static long create(String title, String dueDate) {
+        return RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{\"title\": \"" + title + "\", \"status\": \"PENDING\", \"dueDate\": \"" + dueDate + "\"}")
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract().<Number>path("id").longValue();
+    }
+}
@@ -0,0 +1,38 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.jdbc.Sql;
+import uk.gov.hmcts.reform.dev.config.BaseIT;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+
+class PrometheusEndpointTest extends BaseIT {
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldPublishRequestRepositoryPoolAndNotFoundMetrics() {
+        Long taskId = taskRepository.findByTitle("Schedule team meeting").getId();
+        RestAssured.given().when().get("v1/tasks/" + taskId).then().statusCode(HttpStatus.OK.value());
+        RestAssured.given().when().get("v1/tasks/9999").then().statusCode(HttpStatus.NOT_FOUND.value());
+
+        RestAssured.given()
+            .when().get("prometheus")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body(allOf(
+                containsString("http_server_requests_seconds_bucket{"),
+                containsString("uri=\"/v1/tasks/{id}\""),
+                containsString("le=\"0.025\""),
+                containsString("spring_data_repository_invocations_seconds_bucket{"),
+                containsString("method=\"findById\""),
+                containsString("hikaricp_connections_active{"),
+                containsString("hikaricp_connections_idle{"),
+                containsString("hikaricp_connections_pending{"),
+                containsString("tasks_not_found_total{"),
+                containsString("operation=\"get\"")
+            ));
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import uk.gov.hmcts.reform.dev.config.BaseIT;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@TestPropertySource(properties = {
+    "tasks.status-updates.coalescing.enabled=true",
+    "tasks.status-updates.coalescing.window=200ms"
+})
+class StatusUpdateCoalescingTest extends BaseIT {
+
+    private static final int UPDATES = 20;
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldApplyConcurrentUpdatesToOneTaskAsFewerWrites() {
+        Task task = taskRepository.findByTitle("Schedule team meeting");
+        HttpClient client = HttpClient.newHttpClient();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < UPDATES; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + serverPort + "/v1/tasks/" + task.getId() + "/status"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\": \"COMPLETED\"}"))
+                .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertThat(response.join().statusCode()).isEqualTo(HttpStatus.OK.value());
+        }
+        Task updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(updated.getVersion() - task.getVersion()).isBetween(1L, (long) UPDATES - 1);
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingTask() {
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{\"status\": \"COMPLETED\"}")
+            .when().patch("v1/tasks/9999/status")
+            .then()
+            .statusCode(HttpStatus.NOT_FOUND.value())
+            .body("message", equalTo("Task not found with id: 9999"));
+    }
+}
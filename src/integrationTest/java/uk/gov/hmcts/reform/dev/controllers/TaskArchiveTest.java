@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import uk.gov.hmcts.reform.dev.config.BaseIT;
+import uk.gov.hmcts.reform.dev.services.TaskArchiver;
+import uk.gov.hmcts.reform.dev.services.TaskStatistics;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@TestPropertySource(properties = {
+    "tasks.archive.enabled=true",
+    "tasks.archive.batch-size=2",
+    "tasks.archive.pause=0ms"
+})
+class TaskArchiveTest extends BaseIT {
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldMoveOldCompletedTasksOutOfTheListsButStillReadThemById() {
+        Long emails = taskRepository.findByTitle("Archive old emails").getId();
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{\"title\": \"Done today\", \"status\": \"COMPLETED\", \"dueDate\": \"" + LocalDate.now() + "\"}")
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value());
+
+        long archived = archiver.archive();
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(taskRepository.count()).isEqualTo(8);
+        RestAssured.given()
+            .queryParam("status", "COMPLETED")
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.title", hasSize(1))
+            .body("tasks[0].title", is("Done today"));
+        RestAssured.given()
+            .when().get("v1/tasks/{id}", emails)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("title", is("Archive old emails"))
+            .body("status", is("COMPLETED"));
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body(readResource("/requests/statusUpdateRequest.json"))
+            .when().patch("v1/tasks/{id}/status", emails)
+            .then()
+            .statusCode(HttpStatus.NOT_FOUND.value());
+
+        // Reseed as a restart would: archived tasks still count.
+        taskStatistics.refresh();
+        RestAssured.given()
+            .when().get("v1/tasks/stats")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("byStatus.COMPLETED", is(4))
+            .body("total", is(11));
+        assertThat(archiver.archive()).isZero();
+    }
+}
@@ -0,0 +1,161 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.jdbc.Sql;
+import uk.gov.hmcts.reform.dev.config.BaseIT;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+
+class TaskBinaryFormatsTest extends BaseIT {
+
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @ParameterizedTest
+    @ValueSource(strings = {CBOR, SMILE})
+    void shouldCreateAndGetTask(String mediaType) throws IOException {
+        ObjectMapper mapper = mapper(mediaType);
+        Task task = new Task(null, "Schedule team meeting", "Sync with operations", Status.PENDING,
+                             LocalDate.of(2025, 6, 24), null);
+
+        byte[] created = RestAssured.given()
+            .contentType(mediaType)
+            .accept(mediaType)
+            .body(mapper.writeValueAsBytes(task))
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .contentType(startsWith(mediaType))
+            .extract().asByteArray();
+        Long id = mapper.readValue(created, Task.class).getId();
+
+        byte[] fetched = RestAssured.given()
+            .accept(mediaType)
+            .when().get("v1/tasks/{id}", id)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .contentType(startsWith(mediaType))
+            .extract().asByteArray();
+
+        assertThat(mapper.readValue(fetched, Task.class))
+            .extracting(Task::getId, Task::getTitle, Task::getStatus, Task::getDueDate, Task::getVersion)
+            .containsExactly(id, "Schedule team meeting", Status.PENDING, LocalDate.of(2025, 6, 24), 0L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CBOR, SMILE})
+    @Sql("/data/taskData.sql")
+    void shouldGetPageOfTasks(String mediaType) throws IOException {
+        byte[] body = RestAssured.given()
+            .accept(mediaType)
+            .queryParam("limit", 4)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .contentType(startsWith(mediaType))
+            .extract().asByteArray();
+
+        TaskPage page = mapper(mediaType).readValue(body, TaskPage.class);
+        assertThat(page.tasks()).extracting(Task::getDueDate).containsExactly(
+            LocalDate.of(2025, 6, 15), LocalDate.of(2025, 6, 19), LocalDate.of(2025, 6, 20), LocalDate.of(2025, 6, 21));
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CBOR, SMILE})
+    @Sql("/data/taskData.sql")
+    void shouldSendASmallerPageThanJson(String mediaType) {
+        byte[] json = page("application/json");
+        byte[] binary = page(mediaType);
+
+        assertThat(binary.length).isLessThan(json.length);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CBOR, SMILE})
+    @Sql("/data/taskData.sql")
+    void shouldTellCachesThatTheEncodingDependsOnAccept(String mediaType) {
+        Long id = taskRepository.findByTitle("Schedule team meeting").getId();
+
+        Response task = RestAssured.given().accept(mediaType).when().get("v1/tasks/{id}", id);
+        assertVariesByAccept(task, HttpStatus.OK);
+        assertVariesByAccept(RestAssured.given()
+                                 .accept(mediaType)
+                                 .header(HttpHeaders.IF_NONE_MATCH, task.header(HttpHeaders.ETAG))
+                                 .when().get("v1/tasks/{id}", id), HttpStatus.NOT_MODIFIED);
+
+        Response page = RestAssured.given().accept(mediaType).when().get("v1/tasks");
+        assertVariesByAccept(page, HttpStatus.OK);
+        assertVariesByAccept(RestAssured.given()
+                                 .accept(mediaType)
+                                 .header(HttpHeaders.IF_NONE_MATCH, page.header(HttpHeaders.ETAG))
+                                 .when().get("v1/tasks"), HttpStatus.NOT_MODIFIED);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CBOR, SMILE})
+    void shouldReturnBadRequestForInvalidTask(String mediaType) throws IOException {
+        Task task = new Task(null, " ", null, Status.PENDING, null, null);
+
+        RestAssured.given()
+            .contentType(mediaType)
+            .accept(mediaType)
+            .body(mapper(mediaType).writeValueAsBytes(task))
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        assertThat(taskRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldStillAnswerInJsonWhenAnyTypeIsAccepted() {
+        RestAssured.given()
+            .accept("*/*")
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .contentType(startsWith("application/json"));
+    }
+
+    private static void assertVariesByAccept(Response response, HttpStatus status) {
+        assertThat(response.statusCode()).isEqualTo(status.value());
+        assertThat(response.headers().getValues(HttpHeaders.VARY))
+            .flatExtracting(vary -> Arrays.stream(vary.split(",")).map(String::trim).toList())
+            .contains(HttpHeaders.ACCEPT);
+    }
+
+    private static byte[] page(String mediaType) {
+        return RestAssured.given()
+            .accept(mediaType)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .contentType(startsWith(mediaType))
+            .extract().asByteArray();
+    }
+
+    private static ObjectMapper mapper(String mediaType) {
+        return new ObjectMapper(CBOR.equals(mediaType) ? new CBORFactory() : new SmileFactory())
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import uk.gov.hmcts.reform.dev.config.BaseIT;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedTest extends BaseIT {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void shouldStreamCommittedChangesAndResumeFromLastEventId() throws Exception {
+        Iterator<String> stream = open(null);
+        Long taskId = createTask("First");
+        List<String> first = nextEvent(stream);
+
+        assertThat(first).contains("event:change");
+        assertThat(first).anyMatch(line -> line.startsWith("data:") && line.contains("\"type\":\"CREATED\"")
+            && line.contains("\"taskId\":" + taskId));
+        String lastEventId = first.stream().filter(line -> line.startsWith("id:")).findFirst().orElseThrow()
+            .substring("id:".length());
+
+        Long missedId = createTask("Missed while disconnected");
+        List<String> resumed = nextEvent(open(lastEventId));
+
+        assertThat(resumed).anyMatch(line -> line.startsWith("data:") && line.contains("\"taskId\":" + missedId));
+    }
+
+    @Test
+    void shouldResetClientsThatCannotResume() throws Exception {
+        List<String> event = nextEvent(open("unknown-7"));
+
+        assertThat(event).contains("event:reset");
+    }
+
+    private Iterator<String> open(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + serverPort + "/v1/tasks/changes"));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines())
+            .get(5, TimeUnit.SECONDS);
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        return response.body().iterator();
+    }
+
+    /**
+     * Reads the lines of the next event that isn't just a heartbeat comment.
+     */
+    private static List<String> nextEvent(Iterator<String> stream) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            List<String> lines = new ArrayList<>();
+            while (stream.hasNext()) {
+                String line = stream.next();
+                if (line.isEmpty() && !lines.isEmpty()) {
+                    return lines;
+                }
+                if (!line.isEmpty() && !line.startsWith(":")) {
+                    lines.add(line);
+                }
+            }
+            return lines;
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private static Long createTask(String title) {
+        return RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("{\"title\": \"" + title + "\", \"status\": \"PENDING\", \"dueDate\": \"2025-12-01\"}")
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract().jsonPath().getLong("id");
+    }
+}
@@ -3,16 +3,31 @@ package uk.gov.hmcts.reform.dev.controllers;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.jdbc.Sql;
 import uk.gov.hmcts.reform.dev.config.BaseIT;
+import uk.gov.hmcts.reform.dev.services.OverdueTaskScheduler;
+import uk.gov.hmcts.reform.dev.services.TaskStatistics;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TaskControllerTest extends BaseIT {
 
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private OverdueTaskScheduler overdueTasks;
+
     @Test
     @Sql("/data/taskData.sql")
     void shouldGetAllTasks() {
@@ -20,7 +35,148 @@ public class TaskControllerTest extends BaseIT {
             .when().get("v1/tasks")
             .then()
             .statusCode(HttpStatus.OK.value())
-            .body("size()", is(10));
+            .body("tasks.size()", is(10))
+            .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldPageThroughTasksInDueDateOrder() {
+        String nextCursor = RestAssured.given()
+            .queryParam("limit", 4)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.size()", is(4))
+            .body("tasks.dueDate", contains("2025-06-15", "2025-06-19", "2025-06-20", "2025-06-21"))
+            .body("nextCursor", notNullValue())
+            .extract().path("nextCursor");
+
+        nextCursor = RestAssured.given()
+            .queryParam("limit", 4)
+            .queryParam("cursor", nextCursor)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.dueDate", contains("2025-06-24", "2025-06-25", "2025-06-26", "2025-06-27"))
+            .extract().path("nextCursor");
+
+        RestAssured.given()
+            .queryParam("limit", 4)
+            .queryParam("cursor", nextCursor)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.dueDate", contains("2025-06-28", "2025-06-29"))
+            .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldFilterTasksByStatusAndDueDate() {
+        RestAssured.given()
+            .queryParam("status", "PENDING")
+            .queryParam("dueAfter", "2025-06-24")
+            .queryParam("dueBefore", "2025-06-29")
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.title", contains("Update contact list", "Scan and archive invoices"));
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldFilterByAnyOfSeveralStatusesLatestFirst() {
+        String nextCursor = RestAssured.given()
+            .queryParam("status", "PENDING", "IN_PROGRESS")
+            .queryParam("dueAfter", "2025-06-21")
+            .queryParam("order", "DESC")
+            .queryParam("limit", 3)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.dueDate", contains("2025-06-29", "2025-06-28", "2025-06-27"))
+            .extract().path("nextCursor");
+
+        RestAssured.given()
+            .queryParam("status", "PENDING", "IN_PROGRESS")
+            .queryParam("dueAfter", "2025-06-21")
+            .queryParam("order", "DESC")
+            .queryParam("limit", 3)
+            .queryParam("cursor", nextCursor)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.title", contains("Scan and archive invoices", "Update contact list", "Schedule team meeting"))
+            .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldGetOnlyRequestedFields() {
+        String nextCursor = RestAssured.given()
+            .queryParam("fields", "title,dueDate")
+            .queryParam("limit", 4)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.dueDate", contains("2025-06-15", "2025-06-19", "2025-06-20", "2025-06-21"))
+            .body("tasks[0].title", equalTo("Archive old emails"))
+            .body("tasks[0].keySet()", containsInAnyOrder("title", "dueDate"))
+            .extract().path("nextCursor");
+
+        RestAssured.given()
+            .queryParam("fields", "id,status")
+            .queryParam("limit", 4)
+            .queryParam("cursor", nextCursor)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.status", contains("PENDING", "PENDING", "PENDING", "IN_PROGRESS"))
+            .body("tasks[0].keySet()", containsInAnyOrder("id", "status"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForUnknownField() {
+        RestAssured.given()
+            .queryParam("fields", "id,owner")
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value())
+            .body("message", containsString("Unknown field: owner"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() {
+        RestAssured.given()
+            .queryParam("cursor", "not-a-cursor")
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void shouldReturnBadRequestForLimitOutOfRange() {
+        RestAssured.given()
+            .queryParam("limit", 0)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldExportAllTasksAsNdjson() {
+        String body = RestAssured.given()
+            .when().get("v1/tasks/export")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .contentType(containsString("application/x-ndjson"))
+            .extract().asString();
+
+        String[] lines = body.split("\n");
+        assertEquals(10, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"Schedule team meeting\""));
     }
 
     @Test
@@ -35,6 +191,97 @@ public class TaskControllerTest extends BaseIT {
         assertEquals(1, taskRepository.count());
     }
 
+    @Test
+    void shouldCreateTaskOnceForRepeatedIdempotencyKey() {
+        Integer id = RestAssured.given()
+            .contentType(ContentType.JSON)
+            .header("Idempotency-Key", "create-report-1")
+            .body(readResource("/requests/taskRequest.json"))
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .header("Idempotent-Replayed", "false")
+            .extract().path("id");
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .header("Idempotency-Key", "create-report-1")
+            .body(readResource("/requests/taskRequest.json"))
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .header("Idempotent-Replayed", "true")
+            .body("id", equalTo(id));
+
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    void shouldRefuseIdempotencyKeyReusedForDifferentTask() {
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .header("Idempotency-Key", "create-report-2")
+            .body(readResource("/requests/taskRequest.json"))
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value());
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .header("Idempotency-Key", "create-report-2")
+            .body(readResource("/requests/taskUpdateRequest.json"))
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.UNPROCESSABLE_ENTITY.value());
+
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    void shouldCreateValidTasksInBatch() {
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body(readResource("/requests/taskBatchRequest.json"))
+            .when().post("v1/tasks/batch")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("applied", is(2))
+            .body("rejected", is(1))
+            .body("items.outcome", contains("CREATED", "INVALID", "CREATED"))
+            .body("items[1].errors", contains("title: must not be blank"));
+
+        assertEquals(2, taskRepository.count());
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldUpdateExistingTasksInBatch() {
+        Long taskId = taskRepository.findByTitle("Schedule team meeting").getId();
+        String body = readResource("/requests/taskUpdateRequest.json")
+            .replaceFirst("\\{", "{ \"id\": " + taskId + ",");
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("[" + body + ", { \"id\": 9999, \"title\": \"Gone\", \"status\": \"PENDING\", "
+                      + "\"dueDate\": \"2025-06-24\" }]")
+            .when().put("v1/tasks/batch")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("items.outcome", contains("UPDATED", "NOT_FOUND"));
+
+        assertEquals("Schedule in-person team meeting", taskRepository.findById(taskId).orElseThrow().getTitle());
+    }
+
+    @Test
+    void shouldReturnBadRequestForEmptyBatch() {
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body("[]")
+            .when().post("v1/tasks/batch")
+            .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     void shouldReturnBadRequestForInvalidTaskData() {
         RestAssured.given()
@@ -116,6 +363,55 @@ public class TaskControllerTest extends BaseIT {
             .body("dueDate", equalTo("2025-06-24"));
     }
 
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldUpdateTaskStatusWhenIfMatchIsCurrent() {
+        Long taskId = taskRepository.findByTitle("Schedule team meeting").getId();
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .header("If-Match", "\"0\"")
+            .body(readResource("/requests/statusUpdateRequest.json"))
+            .when().patch("v1/tasks/" + taskId + "/status")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", "\"1\"")
+            .body("status", equalTo("IN_PROGRESS"))
+            .body("version", is(1));
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldRejectTaskStatusUpdateWithStaleIfMatch() {
+        Long taskId = taskRepository.findByTitle("Schedule team meeting").getId();
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .header("If-Match", "\"5\"")
+            .body(readResource("/requests/statusUpdateRequest.json"))
+            .when().patch("v1/tasks/" + taskId + "/status")
+            .then()
+            .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+        assertEquals("PENDING", taskRepository.findById(taskId).orElseThrow().getStatus().name());
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldRejectTaskUpdateWithStaleBodyVersion() {
+        Long taskId = taskRepository.findByTitle("Schedule team meeting").getId();
+        String body = readResource("/requests/taskUpdateRequest.json")
+            .replaceFirst("\\{", "{ \"version\": 5,");
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body(body)
+            .when().put("v1/tasks/" + taskId)
+            .then()
+            .statusCode(HttpStatus.PRECONDITION_FAILED.value())
+            .body("message", equalTo("Task has been modified since it was read with id: " + taskId));
+    }
+
     @Test
     @Sql("/data/taskData.sql")
     void shouldNotUpdateTaskStatusWhenStatusNotValid() {
@@ -173,4 +469,126 @@ public class TaskControllerTest extends BaseIT {
             .body("message", equalTo("Task not found with id: 9999"));
     }
 
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldReturnNotModifiedForUnchangedTaskCollection() {
+        String etag = RestAssured.given()
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", notNullValue())
+            .extract().header("ETag");
+
+        RestAssured.given()
+            .header("If-None-Match", etag)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body(readResource("/requests/taskRequest.json"))
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value());
+
+        RestAssured.given()
+            .header("If-None-Match", etag)
+            .when().get("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.size()", is(11));
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldReturnNotModifiedForUnchangedTask() {
+        Long taskId = taskRepository.findByTitle("Schedule team meeting").getId();
+
+        RestAssured.given()
+            .header("If-None-Match", "\"0\"")
+            .when().get("v1/tasks/" + taskId)
+            .then()
+            .statusCode(HttpStatus.NOT_MODIFIED.value())
+            .header("ETag", "\"0\"");
+
+        RestAssured.given()
+            .header("If-None-Match", "\"7\"")
+            .when().get("v1/tasks/" + taskId)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", "\"0\"")
+            .body("title", equalTo("Schedule team meeting"));
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldKeepTaskStatsUpToDateWithChanges() {
+        // The test data is loaded behind the application's back, so reseed as a restart would.
+        taskStatistics.refresh();
+        Long taskId = taskRepository.findByTitle("Schedule team meeting").getId();
+
+        RestAssured.given()
+            .when().get("v1/tasks/stats")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("byStatus.PENDING", is(4))
+            .body("byStatus.IN_PROGRESS", is(3))
+            .body("byStatus.COMPLETED", is(3))
+            .body("overdue", is(7))
+            .body("total", is(10));
+
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body(readResource("/requests/taskRequest.json"))
+            .when().post("v1/tasks")
+            .then()
+            .statusCode(HttpStatus.CREATED.value());
+        RestAssured.given()
+            .contentType(ContentType.JSON)
+            .body(readResource("/requests/statusUpdateRequest.json"))
+            .when().patch("v1/tasks/" + taskId + "/status")
+            .then()
+            .statusCode(HttpStatus.OK.value());
+
+        RestAssured.given()
+            .when().get("v1/tasks/stats")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("byStatus.PENDING", is(4))
+            .body("byStatus.IN_PROGRESS", is(4))
+            .body("overdue", is(7))
+            .body("total", is(11));
+    }
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldPageThroughOverdueTasksAsTheyChange() {
+        overdueTasks.refresh();
+        Long reportId = taskRepository.findByTitle("Prepare monthly report").getId();
+
+        String cursor = RestAssured.given()
+            .queryParam("limit", 4)
+            .when().get("v1/tasks/overdue")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.title", contains("Follow up on vendor payment", "Schedule team meeting",
+                                          "Update contact list", "Scan and archive invoices"))
+            .body("nextCursor", notNullValue())
+            .extract().path("nextCursor");
+
+        RestAssured.given()
+            .when().delete("v1/tasks/" + reportId)
+            .then()
+            .statusCode(HttpStatus.NO_CONTENT.value());
+
+        RestAssured.given()
+            .queryParam("limit", 4)
+            .queryParam("cursor", cursor)
+            .when().get("v1/tasks/overdue")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("tasks.title", contains("Order office supplies", "Prepare onboarding pack"))
+            .body("nextCursor", nullValue());
+    }
 }
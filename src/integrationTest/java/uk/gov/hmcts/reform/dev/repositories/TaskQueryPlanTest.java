@@ -0,0 +1,152 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.jdbc.Sql;
+import uk.gov.hmcts.reform.dev.config.BaseIT;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Checks that the queries behind the common task filters are planned as index scans. Each case runs
+ * {@link TaskRepositoryCustomImpl#findPage} or {@link TaskRepository#findByTitle} and explains the last statement
+ * Hibernate prepared, with the values it bound, as captured from the connection.
+ */
+@Import(TaskQueryPlanTest.SentStatements.class)
+class TaskQueryPlanTest extends BaseIT {
+
+    private static final int PAGE = 51;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SentStatements sentStatements;
+
+    static Stream<Arguments> commonFilters() {
+        return Stream.of(
+            query("One status and a due date range, first page", tasks -> tasks.findPage(
+                new TaskFilter(Set.of(Status.PENDING), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 9, 1)),
+                Sort.Direction.ASC, null, PAGE)),
+            query("Several statuses, latest first", tasks -> tasks.findPage(
+                new TaskFilter(Set.of(Status.PENDING, Status.IN_PROGRESS), null, null),
+                Sort.Direction.DESC, null, PAGE)),
+            query("A later page, continuing from a cursor", tasks -> tasks.findPage(
+                TaskFilter.none(), Sort.Direction.ASC, new TaskCursor(LocalDate.of(2026, 6, 1), 5000), PAGE)),
+            query("findByTitle", tasks -> tasks.findByTitle("Task 1234"))
+        );
+    }
+
+    @ParameterizedTest
+    @Sql("/data/taskVolumeData.sql")
+    @MethodSource("commonFilters")
+    void shouldUseAnIndexForCommonFilters(Consumer<TaskRepository> query) {
+        sentStatements.clear();
+        query.accept(taskRepository);
+        SentStatement sent = sentStatements.last();
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sent.sql(), String.class,
+                                                      sent.parameters().toArray());
+        String planText = String.join("\n", plan);
+
+        assertTrue(planText.contains("Index"), () -> "Expected an index scan for " + sent + ":\n" + planText);
+        assertFalse(planText.contains("Seq Scan"), () -> "Unexpected sequential scan for " + sent + ":\n" + planText);
+    }
+
+    private static Arguments query(String name, Consumer<TaskRepository> query) {
+        return arguments(Named.of(name, query));
+    }
+
+    record SentStatement(String sql, List<Object> parameters) {}
+
+    /**
+     * Records every query prepared on the application's connections along with the values bound to it, by wrapping
+     * the {@code DataSource} bean.
+     */
+    static final class SentStatements implements BeanPostProcessor {
+
+        private final List<SentStatement> sent = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return capture(super.getConnection());
+                }
+            };
+        }
+
+        void clear() {
+            sent.clear();
+        }
+
+        SentStatement last() {
+            return sent.getLast();
+        }
+
+        private Connection capture(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return "prepareStatement".equals(method.getName())
+                        ? capture((PreparedStatement) result, (String) args[0])
+                        : result;
+                });
+        }
+
+        private PreparedStatement capture(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer index) {
+                        parameters.put(index, args[1]);
+                    } else if ("executeQuery".equals(method.getName())) {
+                        sent.add(new SentStatement(sql, List.copyOf(parameters.values())));
+                    }
+                    return invoke(statement, method, args);
+                });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import uk.gov.hmcts.reform.dev.config.BaseIT;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@TestPropertySource(properties = "tasks.cache.invalidation.enabled=true")
+class TaskInvalidationBusTest extends BaseIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskStatistics statistics;
+
+    @Test
+    @Sql("/data/taskData.sql")
+    void shouldEvictTaskWhenAnotherNodeReportsItChanged() throws InterruptedException {
+        Long taskId = taskRepository.findByTitle("Schedule team meeting").getId();
+        assertTitle(taskId, "Schedule team meeting");
+
+        // Another node changes the task, so this node's cached copy is now stale...
+        jdbcTemplate.update("UPDATE task SET title = 'Changed elsewhere', version = version + 1 WHERE id = ?", taskId);
+        assertTitle(taskId, "Schedule team meeting");
+        // ...until that node's notification arrives.
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", TaskInvalidationBus.CHANNEL, "other-node:" + taskId);
+
+        String title = null;
+        for (int attempt = 0; attempt < 50 && !"Changed elsewhere".equals(title); attempt++) {
+            Thread.sleep(100);
+            title = RestAssured.given().when().get("v1/tasks/" + taskId).then().extract().path("title");
+        }
+        assertThat(title).isEqualTo("Changed elsewhere");
+    }
+
+    @Test
+    void shouldNotifyOtherNodesOfChangesCommittedThroughTaskService() throws SQLException {
+        try (Connection otherNode = DriverManager.getConnection(postgreSQLContainer.getJdbcUrl(),
+                                                                postgreSQLContainer.getUsername(),
+                                                                postgreSQLContainer.getPassword())) {
+            try (Statement statement = otherNode.createStatement()) {
+                statement.execute("LISTEN " + TaskInvalidationBus.CHANNEL);
+            }
+
+            Integer taskId = RestAssured.given()
+                .contentType(ContentType.JSON)
+                .body(readResource("/requests/taskRequest.json"))
+                .when().post("v1/tasks")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().path("id");
+
+            List<String> payloads = new ArrayList<>();
+            PGConnection notifications = otherNode.unwrap(PGConnection.class);
+            for (int attempt = 0; attempt < 50 && payloads.isEmpty(); attempt++) {
+                PGNotification[] received = notifications.getNotifications(100);
+                if (received != null) {
+                    for (PGNotification notification : received) {
+                        payloads.add(notification.getParameter());
+                    }
+                }
+            }
+            assertThat(payloads).anyMatch(payload -> payload.contains(taskId + "|CREATED||PENDING@2100-12-15"));
+        }
+    }
+
+    @Test
+    void shouldCountTasksCreatedByAnotherNode() throws InterruptedException {
+        statistics.refresh();
+        long total = statistics.current().total();
+
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", TaskInvalidationBus.CHANNEL,
+                                  "other-node:999999|CREATED||PENDING@2100-12-15");
+
+        for (int attempt = 0; attempt < 50 && statistics.current().total() == total; attempt++) {
+            Thread.sleep(100);
+        }
+        assertThat(statistics.current().total()).isEqualTo(total + 1);
+    }
+
+    private static void assertTitle(Long taskId, String expected) {
+        RestAssured.given()
+            .when().get("v1/tasks/" + taskId)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("title", equalTo(expected));
+    }
+}
@@ -1 +1,3 @@
 DELETE FROM task;
+DELETE FROM task_archive;
+DELETE FROM task_archive_count;
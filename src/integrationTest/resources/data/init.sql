@@ -1,6 +1,6 @@
 CREATE SEQUENCE task_sequence
   START WITH 1
-  INCREMENT BY 1
+  INCREMENT BY 50
   NO MINVALUE
   NO MAXVALUE
   CACHE 1;
@@ -10,6 +10,27 @@ CREATE TABLE task (
                     title VARCHAR(255) NOT NULL,
                     description VARCHAR(1000),
                     status VARCHAR(255) NOT NULL,
-                    due_date DATE NOT NULL
+                    due_date DATE NOT NULL,
+                    version BIGINT NOT NULL DEFAULT 0
 );
 
+CREATE INDEX task_due_date_id_idx ON task (due_date, id);
+CREATE INDEX task_status_due_date_id_idx ON task (status, due_date, id);
+CREATE INDEX task_title_idx ON task (title);
+
+CREATE TABLE task_archive (
+                            id BIGINT PRIMARY KEY,
+                            title VARCHAR(255) NOT NULL,
+                            description VARCHAR(1000),
+                            status VARCHAR(255) NOT NULL,
+                            due_date DATE NOT NULL,
+                            version BIGINT NOT NULL,
+                            archived_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE TABLE task_archive_count (
+                                  status VARCHAR(255) NOT NULL,
+                                  due_date DATE NOT NULL,
+                                  task_count BIGINT NOT NULL,
+                                  PRIMARY KEY (status, due_date)
+);
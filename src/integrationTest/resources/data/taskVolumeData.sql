@@ -0,0 +1,11 @@
+-- Enough rows, spread over three statuses and a couple of years of due dates, that the planner prefers indexes
+-- where they help, then fresh statistics so it knows about them.
+INSERT INTO task (id, title, description, status, due_date)
+SELECT nextval('task_sequence'),
+       'Task ' || n,
+       'Generated task ' || n,
+       (ARRAY['PENDING', 'IN_PROGRESS', 'COMPLETED'])[n % 3 + 1],
+       DATE '2025-01-01' + (n % 730)
+FROM generate_series(1, 20000) AS n;
+
+ANALYZE task;
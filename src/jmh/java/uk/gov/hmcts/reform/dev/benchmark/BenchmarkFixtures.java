@@ -0,0 +1,93 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.support.TransactionOperations;
+import uk.gov.hmcts.reform.dev.config.TaskCacheProperties;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.InMemoryTaskStore;
+import uk.gov.hmcts.reform.dev.repositories.TaskStore;
+import uk.gov.hmcts.reform.dev.services.OverdueTaskScheduler;
+import uk.gov.hmcts.reform.dev.services.TaskCache;
+import uk.gov.hmcts.reform.dev.services.TaskChangeCounter;
+import uk.gov.hmcts.reform.dev.services.TaskSeedGate;
+import uk.gov.hmcts.reform.dev.services.TaskService;
+import uk.gov.hmcts.reform.dev.services.TaskStatistics;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Builds the objects under benchmark the way the application context would, minus the database: the service runs
+ * against {@link InMemoryTaskStore}, the engine behind the {@code memory} profile, and change events go straight to
+ * their listeners, as they would after each commit.
+ */
+final class BenchmarkFixtures {
+
+    static final int TASK_COUNT = 1_000;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Configured as Spring Boot configures its {@code ObjectMapper} for this application.
+     */
+    static ObjectMapper objectMapper() {
+        return objectMapperBuilder().build();
+    }
+
+    /**
+     * A new builder, as Spring Boot hands one to each bean that asks, configured as Spring Boot configures it.
+     */
+    static Jackson2ObjectMapperBuilder objectMapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static Validator validator() {
+        return Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    static Task task(int n) {
+        Status status = Status.values()[n % Status.values().length];
+        return new Task(null, "Task " + n, "Description of task " + n, status,
+                        LocalDate.of(2025, 1, 1).plusDays(n % 365), null);
+    }
+
+    /**
+     * Returns a service over a store already holding {@link #TASK_COUNT} tasks, with ids 1 to
+     * {@code TASK_COUNT}.
+     */
+    static TaskService taskService() {
+        TaskStore store = new InMemoryTaskStore();
+        for (int n = 0; n < TASK_COUNT; n++) {
+            store.save(task(n));
+        }
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskCache cache = new TaskCache(new TaskCacheProperties(10_000, Duration.ofMinutes(10)), meterRegistry);
+        TaskChangeCounter changeCounter = new TaskChangeCounter();
+        TaskSeedGate seedGate = new TaskSeedGate(TransactionOperations.withoutTransaction(), null);
+        TaskStatistics statistics = new TaskStatistics(store, seedGate);
+        statistics.refresh();
+        OverdueTaskScheduler overdueTasks = new OverdueTaskScheduler(store, seedGate, event -> { });
+        overdueTasks.refresh();
+        ApplicationEventPublisher publisher = event -> {
+            if (event instanceof TaskChangedEvent changed) {
+                cache.onTaskChanged(changed);
+                changeCounter.onTaskChanged(changed);
+                statistics.onTaskChanged(changed);
+                overdueTasks.onTaskChanged(changed);
+            }
+        };
+        return new TaskService(store, validator(), cache, changeCounter, statistics, overdueTasks, publisher,
+                               meterRegistry);
+    }
+}
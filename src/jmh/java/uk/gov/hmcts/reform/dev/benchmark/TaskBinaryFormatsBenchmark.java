@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.dev.config.BinaryFormatsConfiguration;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading a page of tasks, as {@code GET /v1/tasks} returns by default, in each encoding a client can
+ * ask for, with the mappers of the application's message converters. {@code TaskBinaryFormatsTest} checks that the
+ * binary encodings are the smaller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskBinaryFormatsBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private TaskPage page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        BinaryFormatsConfiguration formats = new BinaryFormatsConfiguration();
+        Jackson2ObjectMapperBuilder builder = BenchmarkFixtures.objectMapperBuilder();
+        objectMapper = switch (format) {
+            case "cbor" -> formats.cborHttpMessageConverter(builder).getObjectMapper();
+            case "smile" -> formats.smileHttpMessageConverter(builder).getObjectMapper();
+            default -> builder.build();
+        };
+        List<Task> tasks = new ArrayList<>(PAGE_SIZE);
+        for (int n = 0; n < PAGE_SIZE; n++) {
+            Task task = BenchmarkFixtures.task(n);
+            task.setId(1_000L + n);
+            task.setVersion((long) n % 4);
+            tasks.add(task);
+        }
+        page = new TaskPage(tasks, "MjAyNS0wMi0xOXwxMDQ5");
+        encoded = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public TaskPage decode() throws IOException {
+        return objectMapper.readValue(encoded, TaskPage.class);
+    }
+}
@@ -0,0 +1,107 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.gov.hmcts.reform.dev.config.BulkOperationProperties;
+import uk.gov.hmcts.reform.dev.config.IdempotencyProperties;
+import uk.gov.hmcts.reform.dev.config.StatusUpdateCoalescingProperties;
+import uk.gov.hmcts.reform.dev.config.TaskChangeFeedProperties;
+import uk.gov.hmcts.reform.dev.controllers.TaskController;
+import uk.gov.hmcts.reform.dev.exceptions.GlobalExceptionHandler;
+import uk.gov.hmcts.reform.dev.services.BulkTaskUpdater;
+import uk.gov.hmcts.reform.dev.services.IdempotencyStore;
+import uk.gov.hmcts.reform.dev.services.StatusUpdateCoalescer;
+import uk.gov.hmcts.reform.dev.services.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.services.TaskService;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full request handling through Spring MVC, without a servlet container or network: argument resolution,
+ * validation, the controller, the service over an in-memory store, and JSON writing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskControllerBenchmark {
+
+    private MockMvc mockMvc;
+    private byte[] newTask;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        TaskService taskService = BenchmarkFixtures.taskService();
+        StatusUpdateCoalescer statusUpdates =
+            new StatusUpdateCoalescer(taskService, new StatusUpdateCoalescingProperties(false, Duration.ZERO, 1));
+        TaskChangeFeed changeFeed = new TaskChangeFeed(
+            new TaskChangeFeedProperties(1, Duration.ofSeconds(15), Duration.ofMinutes(30)));
+        BulkTaskUpdater bulkUpdates = new BulkTaskUpdater(taskService, new BulkOperationProperties(1000));
+        IdempotencyStore idempotencyStore = new IdempotencyStore(
+            new IdempotencyProperties(10_000, Duration.ofHours(1)), new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new TaskController(taskService, statusUpdates, changeFeed, bulkUpdates, idempotencyStore,
+                                   objectMapper))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+        newTask = objectMapper.writeValueAsBytes(BenchmarkFixtures.task(0));
+    }
+
+    @Benchmark
+    public byte[] getTask() throws Exception {
+        return mockMvc.perform(get("/v1/tasks/{id}", 42))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public int getTaskNotModified() throws Exception {
+        return mockMvc.perform(get("/v1/tasks/{id}", 42).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public byte[] getPage() throws Exception {
+        return mockMvc.perform(get("/v1/tasks").param("status", "PENDING").param("limit", "50"))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getPageFields() throws Exception {
+        return mockMvc.perform(get("/v1/tasks").param("status", "PENDING").param("limit", "50")
+                                   .param("fields", "id,title,status,dueDate"))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] addTask() throws Exception {
+        return mockMvc.perform(post("/v1/tasks").contentType(MediaType.APPLICATION_JSON).content(newTask))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    /**
+     * A retried create, answered from the idempotency store after the first iteration.
+     */
+    @Benchmark
+    public byte[] addTaskReplayed() throws Exception {
+        return mockMvc.perform(post("/v1/tasks").contentType(MediaType.APPLICATION_JSON).content(newTask)
+                                   .header("Idempotency-Key", "benchmark"))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+}
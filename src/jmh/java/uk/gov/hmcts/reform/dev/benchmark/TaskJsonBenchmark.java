@@ -0,0 +1,62 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-task JSON work done on every request: writing a task out, reading one in, and validating it as
+ * {@code @Valid} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Validator validator;
+    private Task task;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        validator = BenchmarkFixtures.validator();
+        task = BenchmarkFixtures.task(1);
+        task.setId(1L);
+        task.setVersion(3L);
+        json = objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public Task deserialize() throws IOException {
+        return objectMapper.readValue(json, Task.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Task>> validate() {
+        return validator.validate(task);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Task>> deserializeAndValidate() throws IOException {
+        return validator.validate(objectMapper.readValue(json, Task.class));
+    }
+}
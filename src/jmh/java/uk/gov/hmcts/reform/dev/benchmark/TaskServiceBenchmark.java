@@ -0,0 +1,85 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Sort;
+import uk.gov.hmcts.reform.dev.dto.StatusUpdateDto;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.services.TaskService;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} operations over an in-memory store of {@link BenchmarkFixtures#TASK_COUNT} tasks, so
+ * that changes to the service's own overhead (caching, events, validation, paging) show up without database noise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    private static final TaskFilter PENDING_IN_MARCH =
+        new TaskFilter(Set.of(Status.PENDING), LocalDate.of(2025, 2, 28), LocalDate.of(2025, 4, 1));
+
+    private TaskService taskService;
+    private long nextId;
+    private int nextTask;
+
+    @Setup
+    public void setUp() {
+        taskService = BenchmarkFixtures.taskService();
+    }
+
+    @Benchmark
+    public Task getTaskById() {
+        return taskService.getTaskById(nextId());
+    }
+
+    @Benchmark
+    public TaskPage getFirstPage() {
+        return taskService.getTasks(TaskFilter.none(), Sort.Direction.ASC, null, 50);
+    }
+
+    @Benchmark
+    public TaskPage getFilteredPage() {
+        return taskService.getTasks(PENDING_IN_MARCH, Sort.Direction.ASC, null, 50);
+    }
+
+    @Benchmark
+    public TaskPage getOverduePage() {
+        return taskService.getOverdueTasks(null, 50);
+    }
+
+    @Benchmark
+    public TaskStats getStats() {
+        return taskService.getStats();
+    }
+
+    @Benchmark
+    public Task updateStatus() {
+        long id = nextId();
+        Status status = Status.values()[(int) (id % Status.values().length)];
+        return taskService.updateStatus(id, new StatusUpdateDto(status), null);
+    }
+
+    @Benchmark
+    public Task addTask() {
+        return taskService.addTask(BenchmarkFixtures.task(nextTask++));
+    }
+
+    private long nextId() {
+        nextId = nextId % BenchmarkFixtures.TASK_COUNT + 1;
+        return nextId;
+    }
+}
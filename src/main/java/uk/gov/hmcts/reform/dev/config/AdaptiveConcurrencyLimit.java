@@ -0,0 +1,128 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import uk.gov.hmcts.reform.dev.config.LoadSheddingProperties.Limits;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that follows latency, in the manner of a TCP congestion window: while calls take about as
+ * long as they usually do the limit creeps up, and once they take more than {@code tolerance} times as long it is
+ * cut back in proportion, so requests are refused before they can queue for the database.
+ *
+ * <p>"Usually" is a slow moving average of every call's latency; each call then moves the limit towards
+ * {@code limit * gradient + sqrt(limit)}, where the gradient is {@code tolerance * usual / latency} kept between
+ * 0.5 and 1, by {@code smoothing} of the way. The {@code sqrt(limit)} is the room left for growth when latency
+ * is normal. Calls made while less than half the limit is in use say nothing about capacity and leave it alone, so
+ * the limit can't grow without bound while idle. A call that failed because the database was overloaded cuts the
+ * limit by a tenth straight away.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    /**
+     * Roughly how many calls the usual latency is averaged over.
+     */
+    private static final int USUAL_WINDOW = 500;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private double limit;
+    private double usualNanos;
+    private int inFlight;
+
+    AdaptiveConcurrencyLimit(Limits limits, double tolerance, double smoothing) {
+        this.minLimit = limits.min();
+        this.maxLimit = limits.max();
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.clamp(limits.initial(), minLimit, maxLimit);
+    }
+
+    /**
+     * Takes a place under the limit, returning {@code false} when there is none. Every place taken must be given
+     * back through {@link #release} or {@link #releaseOverloaded}.
+     */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a place after a call that took {@code latencyNanos}, adjusting the limit to that latency. A
+     * latency of zero gives the place back without adjusting anything.
+     */
+    void release(long latencyNanos) {
+        lock.lock();
+        try {
+            boolean limited = inFlight >= limit / 2;
+            inFlight--;
+            if (latencyNanos <= 0) {
+                return;
+            }
+            usualNanos = usualNanos == 0 ? latencyNanos : usualNanos + (latencyNanos - usualNanos) / USUAL_WINDOW;
+            if (usualNanos > 2 * latencyNanos) {
+                // Latency has recovered: let the average come back down rather than keep the slow spell in it.
+                usualNanos *= 0.95;
+            }
+            if (!limited) {
+                return;
+            }
+            double gradient = Math.clamp(tolerance * usualNanos / latencyNanos, 0.5, 1.0);
+            double target = limit * gradient + Math.sqrt(limit);
+            limit = Math.clamp(limit + (target - limit) * smoothing, minLimit, maxLimit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a place after a call that failed because the database was overloaded, cutting the limit.
+     */
+    void releaseOverloaded() {
+        lock.lock();
+        try {
+            inFlight--;
+            limit = Math.max(minLimit, limit * 0.9);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isSaturated() {
+        lock.lock();
+        try {
+            return inFlight >= (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
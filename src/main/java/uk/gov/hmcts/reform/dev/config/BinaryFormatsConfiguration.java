@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Reads and writes CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) alongside JSON,
+ * chosen by {@code Content-Type} and {@code Accept}.
+ *
+ * <p>Spring MVC would add converters for both by itself, but with mappers of its own. These are built from Spring
+ * Boot's {@code Jackson2ObjectMapperBuilder} instead, so they have the same modules and {@code spring.jackson}
+ * settings as the JSON mapper and a task reads and writes the same whichever encoding it is in. They replace the
+ * default converters in place, so JSON is still preferred when a client accepts anything.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BinaryFormatsConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
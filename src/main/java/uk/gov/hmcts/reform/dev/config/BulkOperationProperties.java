@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Bulk status updates and deletes: how many tasks each transaction changes, bounding how many rows are locked at
+ * once and how much WAL each commit writes.
+ *
+ * <p>A chunk size below one would never read a short chunk, so a bulk change would never stop; it is rejected at
+ * startup.
+ */
+@Validated
+@ConfigurationProperties("tasks.bulk")
+public record BulkOperationProperties(
+    @DefaultValue("1000") @Min(1) int chunkSize
+) {}
@@ -0,0 +1,125 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+
+/**
+ * Lets at most {@code maxConnections} callers hold a connection from the wrapped pool at once and queues the rest,
+ * first come first served, for up to {@code acquireTimeout}.
+ *
+ * <p>With a virtual thread per request there is no thread pool left to limit how many requests reach the
+ * connection pool together, so thousands can pile into its hand-off queue and time out there in bulk. Waiting on a
+ * fair {@link Semaphore} instead parks each virtual thread cheaply, lets exactly as many through as there are
+ * connections, and fails fast with a {@link SQLTransientConnectionException} once the wait is over. A permit is
+ * held from {@code getConnection} until the connection is closed.
+ *
+ * <p>The number of callers waiting is published as {@code tasks.datasource.bulkhead.waiting}, tagged with the
+ * {@code pool} it guards in the same way as Hikari's own {@code hikaricp.connections.*} gauges, so each wrapped pool
+ * has a gauge of its own.
+ */
+public class BulkheadDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final String pool;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public BulkheadDataSource(DataSource target, String pool, int maxConnections, Duration acquireTimeout) {
+        super(target);
+        this.pool = pool;
+        this.permits = new Semaphore(maxConnections, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns how many callers are currently waiting for a permit.
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.datasource.bulkhead.waiting", this, BulkheadDataSource::getWaiting)
+            .description("Requests waiting for a turn at the database connection pool")
+            .tag("pool", pool)
+            .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Timed out after " + acquireTimeout.toMillis() + "ms waiting for a database connection");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection", ex);
+        }
+    }
+
+    private Connection guard(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, new ReleaseOnClose(connection));
+    }
+
+    private final class ReleaseOnClose implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnClose(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            } finally {
+                // Closing twice is allowed, but must only hand the permit back once.
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Invalidation of node-local caches across replicas: whether it is on, how long the listener waits before
+ * reconnecting after losing its connection (doubling up to {@code maxReconnectDelay}), and how long it may go
+ * without hearing anything before checking the connection is still alive.
+ */
+@ConfigurationProperties("tasks.cache.invalidation")
+public record CacheInvalidationProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("1s") Duration reconnectDelay,
+    @DefaultValue("30s") Duration maxReconnectDelay,
+    @DefaultValue("30s") Duration idleCheckInterval
+) {}
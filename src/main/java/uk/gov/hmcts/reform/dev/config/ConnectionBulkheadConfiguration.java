@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts a {@link BulkheadDataSource} in front of the Hikari pool when requests run on virtual threads
+ * ({@code spring.threads.virtual.enabled=true}), sized to the pool's {@code maximum-pool-size}. With platform
+ * threads, Tomcat's thread pool already bounds how many requests can want a connection at once.
+ *
+ * <p>Each bulkhead is named after its pool's {@code poolName}, or the bean's name when the pool has none yet.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionBulkheadConfiguration {
+
+    @Bean
+    static BeanPostProcessor connectionBulkhead(ObjectProvider<ConnectionBulkheadProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    String name = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+                    return new BulkheadDataSource(
+                        pool, name, pool.getMaximumPoolSize(), properties.getObject().acquireTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
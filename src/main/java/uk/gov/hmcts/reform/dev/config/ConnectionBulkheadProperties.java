@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * How long a request may wait for a turn at the connection pool when running on virtual threads.
+ */
+@ConfigurationProperties("tasks.datasource.bulkhead")
+public record ConnectionBulkheadProperties(
+    @DefaultValue("5s") Duration acquireTimeout
+) {}
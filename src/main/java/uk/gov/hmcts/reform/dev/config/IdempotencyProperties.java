@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * How many {@code Idempotency-Key}s are remembered, and for how long after the task they created.
+ */
+@ConfigurationProperties("tasks.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("1h") Duration expireAfterWrite
+) {}
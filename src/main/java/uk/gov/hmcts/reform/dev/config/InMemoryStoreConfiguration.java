@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs without a database when tasks are kept in memory ({@code tasks.store.engine=memory}, set by the
+ * {@code memory} profile, which also turns off the datasource and JPA auto-configuration).
+ *
+ * <p>{@code TaskService} is still transactional, so change events are still only handed to listeners once the
+ * service call has succeeded. The transaction manager here has nothing to commit or roll back; it only drives
+ * transaction synchronization.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "tasks.store", name = "engine", havingValue = "memory")
+public class InMemoryStoreConfiguration {
+
+    @Bean
+    PlatformTransactionManager transactionManager() {
+        return new SynchronizationOnlyTransactionManager();
+    }
+
+    static final class SynchronizationOnlyTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            // Nothing to begin.
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            // Nothing to commit; synchronizations still run.
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            // Nothing to roll back: the store applies each change as it is made.
+        }
+    }
+}
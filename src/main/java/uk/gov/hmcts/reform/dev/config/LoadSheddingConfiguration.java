@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in load shedding ({@code tasks.load-shedding.enabled=true}): adaptive limits on how many task reads and
+ * writes are handled at once, with requests beyond them refused straight away. See {@link LoadSheddingFilter}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "tasks.load-shedding", name = "enabled", havingValue = "true")
+public class LoadSheddingConfiguration {
+
+    @Bean
+    LoadSheddingFilter loadSheddingFilter(LoadSheddingProperties properties, MeterRegistry registry) {
+        return new LoadSheddingFilter(properties, registry);
+    }
+
+    @Bean
+    TaskServiceLatencyAspect taskServiceLatencyAspect() {
+        return new TaskServiceLatencyAspect();
+    }
+}
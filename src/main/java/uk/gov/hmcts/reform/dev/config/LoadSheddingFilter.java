@@ -0,0 +1,166 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Refuses task requests with {@code 503 Service Unavailable} and a {@code Retry-After} header once more are in
+ * flight than an {@link AdaptiveConcurrencyLimit} allows, rather than letting them queue for Tomcat threads and
+ * database connections.
+ *
+ * <p>Reads ({@code GET} and {@code HEAD}) and writes have limits of their own, each following how long requests of
+ * that kind spend in {@code TaskService}. Writes come first: while the write limit is used up, reads are refused
+ * too, so they can't take the connections writes are waiting for. A request that ends in a 503 of its own, as when
+ * no database connection could be had, cuts its limit straight away. The change feed and the export stream for as
+ * long as the client reads, so they aren't limited.
+ *
+ * <p>Each limit is published as {@code tasks.concurrency.limit}, alongside {@code tasks.concurrency.in.flight} and
+ * a {@code tasks.concurrency.rejected} counter, all tagged {@code class=read} or {@code class=write}.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter implements Ordered {
+
+    private static final String TASKS = "/v1/tasks";
+    private static final String BUSY = "{\"message\":\"Service is busy, please try again\"}";
+
+    private static final ThreadLocal<ServiceTime> SERVICE_TIME = new ThreadLocal<>();
+
+    private final AdaptiveConcurrencyLimit reads;
+    private final AdaptiveConcurrencyLimit writes;
+    private final String retryAfter;
+    private final Counter readsRejected;
+    private final Counter writesRejected;
+
+    public LoadSheddingFilter(LoadSheddingProperties properties, MeterRegistry registry) {
+        this(new AdaptiveConcurrencyLimit(properties.reads(), properties.tolerance(), properties.smoothing()),
+             new AdaptiveConcurrencyLimit(properties.writes(), properties.tolerance(), properties.smoothing()),
+             properties, registry);
+    }
+
+    LoadSheddingFilter(AdaptiveConcurrencyLimit reads, AdaptiveConcurrencyLimit writes,
+                       LoadSheddingProperties properties, MeterRegistry registry) {
+        this.reads = reads;
+        this.writes = writes;
+        // Retry-After is in whole seconds: round up, so clients never come back sooner than configured.
+        this.retryAfter = Long.toString(Math.max(1, (properties.retryAfter().toMillis() + 999) / 1000));
+        this.readsRejected = register(registry, "read", reads);
+        this.writesRejected = register(registry, "write", writes);
+    }
+
+    /**
+     * Adds time spent in {@code TaskService} to the request being handled on this thread, if it is limited.
+     */
+    static void recordServiceTime(long nanos) {
+        ServiceTime time = SERVICE_TIME.get();
+        if (time != null) {
+            time.nanos += nanos;
+        }
+    }
+
+    /**
+     * Marks the request being handled on this thread, if it is limited, as having handed its status change to the
+     * {@code StatusUpdateCoalescer}. The change is written on the coalescer's own thread after a deliberate wait,
+     * so the request's time says nothing about the database and isn't sampled.
+     */
+    static void recordCoalesced() {
+        ServiceTime time = SERVICE_TIME.get();
+        if (time != null) {
+            time.coalesced = true;
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Inside the request timing filter, so shed requests still show up in the timings.
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.equals(TASKS) || path.startsWith(TASKS + "/"))
+            || path.startsWith(TASKS + "/changes")
+            || path.startsWith(TASKS + "/export");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        boolean read = isRead(request);
+        AdaptiveConcurrencyLimit limit = read ? reads : writes;
+        if ((read && writes.isSaturated()) || !limit.tryAcquire()) {
+            (read ? readsRejected : writesRejected).increment();
+            reject(response);
+            return;
+        }
+        ServiceTime serviceTime = new ServiceTime();
+        SERVICE_TIME.set(serviceTime);
+        long started = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            chain.doFilter(request, response);
+            overloaded = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } finally {
+            SERVICE_TIME.remove();
+            if (overloaded) {
+                limit.releaseOverloaded();
+            } else if (serviceTime.nanos > 0) {
+                limit.release(serviceTime.nanos);
+            } else if (serviceTime.coalesced) {
+                limit.release(0);
+            } else {
+                // Requests that never reached TaskService, such as invalid ones, are timed whole.
+                limit.release(System.nanoTime() - started);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(BUSY);
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    private static Counter register(MeterRegistry registry, String requestClass, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("tasks.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+            .description("Task requests allowed in flight at once")
+            .tag("class", requestClass)
+            .register(registry);
+        Gauge.builder("tasks.concurrency.in.flight", limit, AdaptiveConcurrencyLimit::inFlight)
+            .description("Task requests in flight")
+            .tag("class", requestClass)
+            .register(registry);
+        return Counter.builder("tasks.concurrency.rejected")
+            .description("Task requests refused because the limit was reached")
+            .tag("class", requestClass)
+            .register(registry);
+    }
+
+    /**
+     * Time the request being handled has spent in {@code TaskService} on its own thread, and whether its status
+     * change was left to the coalescer.
+     */
+    private static final class ServiceTime {
+
+        private long nanos;
+        private boolean coalesced;
+    }
+}
@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limits for task requests: whether they are on, the bounds of the read and write limits, how
+ * much slower than usual {@code TaskService} may get before a limit shrinks, how quickly limits move, and the
+ * {@code Retry-After} sent with a shed request.
+ *
+ * <p>A limit may not fall below one, or every request would be shed, and must start between its bounds. A
+ * tolerance below one would shrink a limit while latency is as usual, and smoothing outside {@code (0, 1]} would
+ * hold a limit still or overshoot its target; all of these are rejected at startup.
+ */
+@Validated
+@ConfigurationProperties("tasks.load-shedding")
+public record LoadSheddingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue @Valid Limits reads,
+    @DefaultValue @Valid Limits writes,
+    @DefaultValue("2.0") @DecimalMin("1.0") double tolerance,
+    @DefaultValue("0.2") @DecimalMin(value = "0.0", inclusive = false) @DecimalMax("1.0") double smoothing,
+    @DefaultValue("1s") Duration retryAfter
+) {
+
+    public record Limits(
+        @DefaultValue("20") @Min(1) int initial,
+        @DefaultValue("4") @Min(1) int min,
+        @DefaultValue("200") @Min(1) int max
+    ) {
+
+        @AssertTrue(message = "must have min <= initial <= max")
+        public boolean isOrdered() {
+            return min <= initial && initial <= max;
+        }
+    }
+}
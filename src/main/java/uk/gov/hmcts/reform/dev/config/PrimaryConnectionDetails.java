@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+
+/**
+ * How to connect to the primary database, for code that opens connections or pools of its own.
+ *
+ * <p>Spring Boot only defines a {@link JdbcConnectionDetails} bean while it is creating the {@code DataSource}
+ * itself, or when one is supplied for a service connection. Once the application defines its own {@code DataSource},
+ * as {@link ReadReplicaConfiguration} does, there is none, and the details come from {@code spring.datasource}.
+ */
+public final class PrimaryConnectionDetails implements JdbcConnectionDetails {
+
+    private final DataSourceProperties properties;
+
+    private PrimaryConnectionDetails(DataSourceProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the {@link JdbcConnectionDetails} bean if there is one, otherwise details read from
+     * {@code spring.datasource}.
+     */
+    public static JdbcConnectionDetails resolve(ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                                DataSourceProperties properties) {
+        return connectionDetails.getIfAvailable(() -> new PrimaryConnectionDetails(properties));
+    }
+
+    @Override
+    public String getUsername() {
+        return properties.determineUsername();
+    }
+
+    @Override
+    public String getPassword() {
+        return properties.determinePassword();
+    }
+
+    @Override
+    public String getJdbcUrl() {
+        return properties.determineUrl();
+    }
+
+    @Override
+    public String getDriverClassName() {
+        return properties.determineDriverClassName();
+    }
+}
@@ -0,0 +1,83 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a Postgres replica ({@code tasks.datasource.replica.url}) and everything else to
+ * the primary in {@code spring.datasource}.
+ *
+ * <p>Each gets a Hikari pool of its own. The application's {@code DataSource} puts off taking a connection until
+ * the first statement, by which point the transaction has marked it read-only or not, and takes it from the pool
+ * that matches. Reads that must not lag behind writes, such as those filling the task cache, ask for the primary
+ * through {@link ReadRouting}; so do a client's reads shortly after its own writes, via {@link ReadYourWritesFilter}.
+ *
+ * <p>Defining the {@code DataSource} here turns Spring Boot's own off, and with it the {@code JdbcConnectionDetails}
+ * bean it would have defined, so the primary is read through {@link PrimaryConnectionDetails}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${tasks.datasource.replica.url:}'.isEmpty()")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(ObjectProvider<JdbcConnectionDetails> connectionDetailsProvider,
+                                       DataSourceProperties properties) {
+        JdbcConnectionDetails connectionDetails = PrimaryConnectionDetails.resolve(connectionDetailsProvider,
+                                                                                   properties);
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(connectionDetails.getDriverClassName())
+            .url(connectionDetails.getJdbcUrl())
+            .username(connectionDetails.getUsername())
+            .password(connectionDetails.getPassword())
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("tasks.datasource.replica.hikari")
+    HikariDataSource replicaDataSource(ReadReplicaProperties replica,
+                                       ObjectProvider<JdbcConnectionDetails> connectionDetailsProvider,
+                                       DataSourceProperties properties) {
+        JdbcConnectionDetails primary = PrimaryConnectionDetails.resolve(connectionDetailsProvider, properties);
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(primary.getDriverClassName())
+            .url(replica.url())
+            .username(StringUtils.hasText(replica.username()) ? replica.username() : primary.getUsername())
+            .password(StringUtils.hasText(replica.password()) ? replica.password() : primary.getPassword())
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica));
+        return dataSource;
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(ReadReplicaProperties properties) {
+        return new ReadYourWritesFilter(properties.readYourWritesWindow());
+    }
+}
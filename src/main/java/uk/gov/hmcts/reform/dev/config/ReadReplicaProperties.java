@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * The replica that read-only transactions are sent to, and for how long after a client's own write its reads go to
+ * the primary instead. The username and password default to the primary's when blank; pool settings go under
+ * {@code tasks.datasource.replica.hikari}.
+ */
+@ConfigurationProperties("tasks.datasource.replica")
+public record ReadReplicaProperties(
+    String url,
+    String username,
+    String password,
+    @DefaultValue("5s") Duration readYourWritesWindow
+) {}
@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets a thread insist that its read-only transactions go to the primary rather than a replica, for reads that
+ * must not see replication lag, or find out afterwards whether a read was served by the replica. Has no effect
+ * unless a replica is configured.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> REPLICA_USED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Runs {@code read} with every connection it takes coming from the primary.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (isPrimaryRequired()) {
+            return read.get();
+        }
+        requirePrimary();
+        try {
+            return read.get();
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * Runs {@code read}, noting whether any connection it took came from the replica, which may be behind.
+     */
+    public static <T> Read<T> tracked(Supplier<T> read) {
+        REPLICA_USED.set(Boolean.FALSE);
+        try {
+            T result = read.get();
+            return new Read<>(result, REPLICA_USED.get());
+        } finally {
+            REPLICA_USED.remove();
+        }
+    }
+
+    static void replicaUsed() {
+        if (REPLICA_USED.get() != null) {
+            REPLICA_USED.set(Boolean.TRUE);
+        }
+    }
+
+    static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * The result of a tracked read, and whether the replica served any of it.
+     */
+    public record Read<T>(T result, boolean fromReplica) {}
+}
@@ -0,0 +1,97 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Sends a client's reads to the primary for a short while after its own writes, so it sees them even while the
+ * replica is catching up.
+ *
+ * <p>Every write is answered with the time it was made, as a {@value #WRITTEN_AT} header and a cookie of the same
+ * value that expires after the window. Browsers send the cookie back by themselves; other clients echo the header.
+ * A read carrying a time within the window is served from the primary. The write may have been stamped by another
+ * instance whose clock runs ahead of this one's, so a time up to the window in the future counts too; times further
+ * ahead are ignored, so a client can't pin itself to the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String WRITTEN_AT = "Tasks-Written-At";
+    static final String WRITTEN_AT_COOKIE = "tasks_written_at";
+
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWritesFilter(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        if (isWrite(request)) {
+            // Set before the write runs: the response may be committed by the time it returns.
+            String now = Long.toString(clock.millis());
+            response.setHeader(WRITTEN_AT, now);
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(WRITTEN_AT_COOKIE, now)
+                .path("/")
+                .maxAge(window)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build()
+                .toString());
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!wroteRecently(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReadRouting.requirePrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.clear();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return !HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method) && !HttpMethod.OPTIONS.equals(method);
+    }
+
+    private boolean wroteRecently(HttpServletRequest request) {
+        String writtenAt = request.getHeader(WRITTEN_AT);
+        if (writtenAt == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (WRITTEN_AT_COOKIE.equals(cookie.getName())) {
+                    writtenAt = cookie.getValue();
+                }
+            }
+        }
+        if (writtenAt == null) {
+            return false;
+        }
+        try {
+            long age = clock.millis() - Long.parseLong(writtenAt);
+            return Math.abs(age) < window.toMillis();
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
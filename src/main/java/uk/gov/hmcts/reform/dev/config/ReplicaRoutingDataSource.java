@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * Where read-only connections come from: the replica, unless the current thread has asked for the primary through
+ * {@link ReadRouting}.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ReadRouting.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        ReadRouting.replicaUsed();
+        return REPLICA;
+    }
+}
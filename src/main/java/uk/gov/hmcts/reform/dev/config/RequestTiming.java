@@ -0,0 +1,188 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where the time went while handling one request: the phases the request passed through, plus the time spent
+ * waiting for a database connection and executing SQL.
+ *
+ * <p>Time is charged to whichever {@link Phase} the request is in. Database time is taken back out of that phase
+ * and reported on its own, so the entries add up to the total. The timing for the request being handled is bound
+ * to the current thread by {@link RequestTimingFilter}; the other hooks look it up with {@link #current()} and do
+ * nothing when there is none.
+ *
+ * <p>Not thread safe: a request is handled on one thread.
+ */
+public final class RequestTiming {
+
+    static final int MAX_STATEMENTS = 50;
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    public enum Phase {
+        BIND("bind", "Reading and binding the request"),
+        VALIDATE("validate", "Validating the request body"),
+        SERVICE("service", "TaskService, excluding the database"),
+        RESPOND("respond", "Building the response"),
+        SERIALIZE("serialize", "Writing the response body");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private final long started;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private Phase phase = Phase.BIND;
+    private long phaseStarted;
+
+    private long connectionNanos;
+    private long databaseNanos;
+    private int statementCount;
+    private final List<String> statements = new ArrayList<>();
+
+    private long committed;
+
+    RequestTiming(long started) {
+        this.started = started;
+        this.phaseStarted = started;
+    }
+
+    /**
+     * Returns the timing for the request being handled on this thread, or {@code null} outside a timed request.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Moves the request into {@code next}, returning the phase it was in.
+     */
+    public Phase enter(Phase next) {
+        long now = System.nanoTime();
+        Phase previous = phase;
+        phaseNanos[previous.ordinal()] += now - phaseStarted;
+        phase = next;
+        phaseStarted = now;
+        return previous;
+    }
+
+    /**
+     * Records the SQL of a statement about to be executed. Only the first {@value #MAX_STATEMENTS} are kept.
+     */
+    public void statement(String sql) {
+        statementCount++;
+        if (statements.size() < MAX_STATEMENTS) {
+            statements.add(sql);
+        }
+    }
+
+    public void database(long nanos) {
+        databaseNanos += nanos;
+        phaseNanos[phase.ordinal()] -= nanos;
+    }
+
+    public void connection(long nanos) {
+        connectionNanos += nanos;
+        phaseNanos[phase.ordinal()] -= nanos;
+    }
+
+    /**
+     * Marks the point the response headers are sent. Once the handler has finished, what follows is writing the
+     * body; a handler that streams its response is still in its own phase.
+     */
+    void commit() {
+        enter(phase == Phase.RESPOND ? Phase.SERIALIZE : phase);
+        committed = phaseStarted;
+    }
+
+    boolean isCommitted() {
+        return committed != 0;
+    }
+
+    int statementCount() {
+        return statementCount;
+    }
+
+    List<String> statements() {
+        return statements;
+    }
+
+    /**
+     * Returns a {@code Server-Timing} header value for everything up to the headers being sent. Writing the body
+     * comes after, so it only appears in the {@link #summary() summary}.
+     */
+    String serverTiming() {
+        StringBuilder header = new StringBuilder(256);
+        for (Phase each : Phase.values()) {
+            appendEntry(header, each.metric, phaseNanos[each.ordinal()], each.description);
+        }
+        appendEntry(header, "conn", connectionNanos, "Waiting for a database connection");
+        appendEntry(header, "db", databaseNanos, statementCount + " SQL statements");
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append("total;dur=");
+        appendMillis(header, committed - started);
+        return header.toString();
+    }
+
+    /**
+     * Ends the current phase and returns the total time taken since the request started.
+     */
+    long finish() {
+        enter(phase);
+        return phaseStarted - started;
+    }
+
+    /**
+     * Returns a one-line breakdown of the request, once {@link #finish() finished}.
+     */
+    String summary() {
+        StringBuilder summary = new StringBuilder(128);
+        summary.append("total=");
+        appendMillis(summary, phaseStarted - started);
+        for (Phase each : Phase.values()) {
+            summary.append(' ').append(each.metric).append('=');
+            appendMillis(summary, phaseNanos[each.ordinal()]);
+        }
+        summary.append(" conn=");
+        appendMillis(summary, connectionNanos);
+        summary.append(" db=");
+        appendMillis(summary, databaseNanos);
+        return summary.append(" statements=").append(statementCount).toString();
+    }
+
+    private static void appendEntry(StringBuilder header, String metric, long nanos, String description) {
+        if (nanos <= 0) {
+            return;
+        }
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(metric).append(";dur=");
+        appendMillis(header, nanos);
+        header.append(";desc=\"").append(description).append('"');
+    }
+
+    // Milliseconds to one decimal place, without the cost of String.format on every request.
+    private static void appendMillis(StringBuilder target, long nanos) {
+        long tenths = Math.max(nanos, 0) / 100_000;
+        target.append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Marks the end of reading a request body; validating it comes next, before the handler runs.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "tasks.timing", name = "enabled", havingValue = "true")
+public class RequestTimingAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.enter(RequestTiming.Phase.VALIDATE);
+        }
+        return body;
+    }
+}
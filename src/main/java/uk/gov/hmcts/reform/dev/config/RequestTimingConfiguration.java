@@ -0,0 +1,39 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in per-request timing ({@code tasks.timing.enabled=true}): a {@code Server-Timing} header on every response
+ * breaking it down into binding, validation, {@code TaskService}, database and response time, and a sampled log of
+ * requests slower than {@code tasks.timing.slow-threshold} with the SQL they ran.
+ *
+ * <p>The cost is a handful of {@code System.nanoTime()} calls and a thread-local lookup per request and per SQL
+ * statement, so it can be left on in production. The header does tell callers how long the database took, so
+ * strip it at the edge if that matters.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "tasks.timing", name = "enabled", havingValue = "true")
+public class RequestTimingConfiguration {
+
+    @Bean
+    RequestTimingFilter requestTimingFilter(RequestTimingProperties properties) {
+        return new RequestTimingFilter(properties);
+    }
+
+    @Bean
+    TaskServiceTimingAspect taskServiceTimingAspect() {
+        return new TaskServiceTimingAspect();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer sqlTimingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlTimingListener());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Times each request, adds the breakdown as a {@code Server-Timing} header and logs a sample of the slow ones
+ * together with the SQL they ran.
+ *
+ * <p>The header has to go out before the first byte of the body, so the response is wrapped to add it at that
+ * point rather than buffering the body until the end.
+ */
+@Slf4j
+public class RequestTimingFilter extends OncePerRequestFilter implements Ordered {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final RequestTimingProperties properties;
+
+    public RequestTimingFilter(RequestTimingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        TimedResponse timedResponse = new TimedResponse(response, timing);
+        try {
+            chain.doFilter(request, timedResponse);
+            timedResponse.commit();
+        } finally {
+            long nanos = timing.finish();
+            RequestTiming.clear();
+            logIfSlow(request, response, timing, nanos);
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, RequestTiming timing,
+                           long nanos) {
+        if (nanos < properties.slowThreshold().toNanos()
+            || ThreadLocalRandom.current().nextDouble() >= properties.slowSampleRate()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder();
+        for (String statement : timing.statements()) {
+            sql.append("\n  ").append(statement);
+        }
+        if (timing.statementCount() > timing.statements().size()) {
+            sql.append("\n  ... ").append(timing.statementCount() - timing.statements().size()).append(" more");
+        }
+        log.warn("Slow request {} {} returned {}: {}{}", request.getMethod(), request.getRequestURI(),
+                 response.getStatus(), timing.summary(), sql);
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header the first time anything is about to commit the response.
+     */
+    private static final class TimedResponse extends HttpServletResponseWrapper {
+
+        private final RequestTiming timing;
+
+        private TimedResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        private void commit() {
+            if (!timing.isCommitted() && !isCommitted()) {
+                timing.commit();
+                setHeader(SERVER_TIMING, timing.serverTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            commit();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            commit();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            commit();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            commit();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            commit();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            commit();
+            super.sendRedirect(location);
+        }
+    }
+}
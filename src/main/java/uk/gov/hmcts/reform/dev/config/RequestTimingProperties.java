@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Per-request timing: whether to record it, and which requests count as slow enough to log. Only
+ * {@code slowSampleRate} of the slow requests are logged, so a slow database can't flood the logs.
+ */
+@ConfigurationProperties("tasks.timing")
+public record RequestTimingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("500ms") Duration slowThreshold,
+    @DefaultValue("0.1") double slowSampleRate
+) {}
@@ -0,0 +1,66 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Feeds Hibernate's JDBC activity into the {@link RequestTiming} of the current request: the SQL of each statement
+ * as it is prepared, and how long was spent acquiring connections and executing statements.
+ *
+ * <p>Registered twice: once as the session factory's {@link StatementInspector}, and by class name as a
+ * {@link SessionEventListener}, of which Hibernate creates one per session.
+ */
+public class SqlTimingListener implements SessionEventListener, StatementInspector {
+
+    private long connectionStarted;
+    private long statementStarted;
+    private long batchStarted;
+
+    @Override
+    public String inspect(String sql) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.statement(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.connection(System.nanoTime() - connectionStarted);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.database(System.nanoTime() - statementStarted);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.database(System.nanoTime() - batchStarted);
+        }
+    }
+}
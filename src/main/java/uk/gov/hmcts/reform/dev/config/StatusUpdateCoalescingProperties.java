@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Coalescing of unconditional status updates: whether it is on, how long a change waits for others to join it,
+ * and how many waiting tasks start a flush without waiting for the window to end.
+ */
+@ConfigurationProperties("tasks.status-updates.coalescing")
+public record StatusUpdateCoalescingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10ms") Duration window,
+    @DefaultValue("500") int maxBatchSize
+) {}
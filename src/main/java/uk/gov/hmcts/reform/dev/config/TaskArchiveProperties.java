@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.validation.constraints.Min;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.Period;
+
+/**
+ * Archival of completed tasks: whether it runs, how long past its due date a completed task stays in the
+ * {@code task} table, how often the archiver looks for more, and how many tasks it moves per transaction with how
+ * long a pause between transactions, which together bound the load it puts on the database.
+ *
+ * <p>A batch size below one would never come back short, so the archiver would never stop, and the scheduler
+ * refuses an interval of zero; both are rejected at startup.
+ */
+@Validated
+@ConfigurationProperties("tasks.archive")
+public record TaskArchiveProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("90d") Period age,
+    @DefaultValue("1h") @DurationMin(millis = 1) Duration interval,
+    @DefaultValue("500") @Min(1) int batchSize,
+    @DefaultValue("100ms") Duration pause
+) {}
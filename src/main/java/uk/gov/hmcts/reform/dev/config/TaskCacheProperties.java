@@ -0,0 +1,12 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("tasks.cache")
+public record TaskCacheProperties(
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("10m") Duration expireAfterWrite
+) {}
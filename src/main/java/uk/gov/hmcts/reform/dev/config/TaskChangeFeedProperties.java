@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.validation.constraints.Min;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * The change feed: how many recent changes are kept for clients resuming with {@code Last-Event-ID}, how often an
+ * idle stream is sent a heartbeat, and how long a stream stays open before the client has to reconnect.
+ *
+ * <p>The buffer needs room for at least one change, and a heartbeat of zero would have each stream send them
+ * without pause; both are rejected at startup.
+ */
+@Validated
+@ConfigurationProperties("tasks.changes")
+public record TaskChangeFeedProperties(
+    @DefaultValue("10000") @Min(1) int bufferSize,
+    @DefaultValue("15s") @DurationMin(millis = 1) Duration heartbeat,
+    @DefaultValue("30m") Duration timeout
+) {}
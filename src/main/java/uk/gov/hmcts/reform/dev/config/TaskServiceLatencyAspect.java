@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Reports how long calls into {@code TaskService} take to {@link LoadSheddingFilter}, which sizes its limits by
+ * them. Runs outside the transaction advice, so waiting for a connection and committing are included.
+ *
+ * <p>Status changes left to {@code StatusUpdateCoalescer} reach {@code TaskService} on its flusher thread, in a
+ * batch shared with other requests, so the requests that made them are reported as coalesced rather than timed.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TaskServiceLatencyAspect {
+
+    @Around("execution(public * uk.gov.hmcts.reform.dev.services.TaskService.*(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        long started = System.nanoTime();
+        try {
+            return call.proceed();
+        } finally {
+            LoadSheddingFilter.recordServiceTime(System.nanoTime() - started);
+        }
+    }
+
+    @Before("execution(public * uk.gov.hmcts.reform.dev.services.StatusUpdateCoalescer.updateStatus(..))")
+    public void coalesced() {
+        LoadSheddingFilter.recordCoalesced();
+    }
+}
@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import uk.gov.hmcts.reform.dev.config.RequestTiming.Phase;
+
+/**
+ * Charges calls into {@code TaskService} to the {@link Phase#SERVICE service} phase. Runs outside the transaction
+ * advice, so committing, and the listeners that run after commit, count as part of the service call.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TaskServiceTimingAspect {
+
+    @Around("execution(public * uk.gov.hmcts.reform.dev.services.TaskService.*(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return call.proceed();
+        }
+        Phase outer = timing.enter(Phase.SERVICE);
+        try {
+            return call.proceed();
+        } finally {
+            timing.enter(outer == Phase.SERVICE ? Phase.SERVICE : Phase.RESPOND);
+        }
+    }
+}
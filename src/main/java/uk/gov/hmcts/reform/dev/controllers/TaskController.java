@@ -1,11 +1,22 @@
 package uk.gov.hmcts.reform.dev.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,14 +25,43 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.config.ReadRouting;
+import uk.gov.hmcts.reform.dev.config.ReadRouting.Read;
+import uk.gov.hmcts.reform.dev.dto.BatchResult;
+import uk.gov.hmcts.reform.dev.dto.BulkResult;
+import uk.gov.hmcts.reform.dev.dto.BulkStatusUpdateDto;
+import uk.gov.hmcts.reform.dev.dto.PartialTaskPage;
 import uk.gov.hmcts.reform.dev.dto.StatusUpdateDto;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.models.Status;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.services.BulkTaskUpdater;
+import uk.gov.hmcts.reform.dev.services.IdempotencyStore;
+import uk.gov.hmcts.reform.dev.services.IdempotencyStore.Outcome;
+import uk.gov.hmcts.reform.dev.services.StatusUpdateCoalescer;
+import uk.gov.hmcts.reform.dev.services.TaskChangeFeed;
 import uk.gov.hmcts.reform.dev.services.TaskService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @AllArgsConstructor
@@ -29,62 +69,244 @@ import static org.springframework.http.HttpStatus.CREATED;
 @RequestMapping("/v1/tasks")
 public class TaskController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final TaskService taskService;
+    private final StatusUpdateCoalescer statusUpdates;
+    private final TaskChangeFeed changeFeed;
+    private final BulkTaskUpdater bulkUpdates;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "Get all tasks")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of tasks")
+    @Operation(summary = "Get a page of tasks ordered by due date",
+        description = "Filters combine with AND; pass status more than once to match any of several statuses. "
+            + "Pass nextCursor back with the same filters and order to get the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of tasks"),
+        @ApiResponse(responseCode = "304", description = "No task has changed since the If-None-Match ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter, limit or cursor provided")
+    })
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<TaskPage> getAllTasks(
+        @Parameter(description = "Only return tasks with one of these statuses")
+        @RequestParam(required = false) Set<Status> status,
+        @Parameter(description = "Only return tasks due after this date")
+        @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate dueAfter,
+        @Parameter(description = "Only return tasks due before this date")
+        @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate dueBefore,
+        @Parameter(description = "Whether to list the earliest (ASC) or latest (DESC) due dates first")
+        @RequestParam(defaultValue = "ASC") Sort.Direction order,
+        @Parameter(description = "Cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of tasks to return")
+        @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit,
+        ServletWebRequest request) {
+        TaskFilter filter = new TaskFilter(status, dueAfter, dueBefore);
+        return taggedPage(request, () -> taskService.getTasks(filter, order, cursor, limit));
+    }
+
+    @Operation(summary = "Get a page of tasks with only some of their fields",
+        description = "Takes the same filters, order and cursor as listing whole tasks. Only the named fields are "
+            + "read from the database and returned, which makes pages cheaper when descriptions aren't needed.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of partial tasks"),
+        @ApiResponse(responseCode = "304", description = "No task has changed since the If-None-Match ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid fields, filter, limit or cursor provided")
+    })
+    @GetMapping(params = "fields")
+    public ResponseEntity<PartialTaskPage> getAllTaskFields(
+        @Parameter(description = "Comma-separated fields to return, from id, title, description, status, dueDate "
+            + "and version", example = "id,title,status,dueDate")
+        @RequestParam String fields,
+        @Parameter(description = "Only return tasks with one of these statuses")
+        @RequestParam(required = false) Set<Status> status,
+        @Parameter(description = "Only return tasks due after this date")
+        @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate dueAfter,
+        @Parameter(description = "Only return tasks due before this date")
+        @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate dueBefore,
+        @Parameter(description = "Whether to list the earliest (ASC) or latest (DESC) due dates first")
+        @RequestParam(defaultValue = "ASC") Sort.Direction order,
+        @Parameter(description = "Cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of tasks to return")
+        @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit,
+        ServletWebRequest request) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        TaskFilter filter = new TaskFilter(status, dueAfter, dueBefore);
+        return taggedPage(request, () -> taskService.getTaskFields(filter, order, cursor, limit, selected));
+    }
+
+    @Operation(summary = "Export all tasks as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Tasks streamed one JSON object per line")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportTasks(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writerFor(Task.class);
+        taskService.exportTasks(task -> writeLine(writer, out, task));
+        out.flush();
+    }
+
+    @Operation(summary = "Get task counts by status and the number of overdue tasks")
+    @ApiResponse(responseCode = "200", description = "Current task statistics")
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats() {
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(taskService.getStats());
+    }
+
+    @Operation(summary = "Get a page of overdue tasks, earliest due first",
+        description = "Tasks that aren't completed and whose due date is before today, listed from an in-memory "
+            + "index. Pass nextCursor back to get the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of overdue tasks"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit or cursor provided")
+    })
+    @GetMapping("/overdue")
+    public ResponseEntity<TaskPage> getOverdueTasks(
+        @Parameter(description = "Cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of tasks to return")
+        @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(taskService.getOverdueTasks(cursor, limit));
+    }
+
+    @Operation(summary = "Stream task changes as Server-Sent Events",
+        description = "Each committed create, update, status change or delete, and each task becoming overdue, is "
+            + "sent as a \"change\" event. Reconnect with Last-Event-ID to resume; a \"reset\" event means changes "
+            + "were missed and the tasks should be reloaded.")
+    @ApiResponse(responseCode = "200", description = "Stream of task changes")
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+        @Parameter(description = "Id of the last event received, to resume from")
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
     }
 
     @Operation(summary = "Get a task by ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task found"),
+        @ApiResponse(responseCode = "304", description = "Task unchanged since the If-None-Match ETag"),
         @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTask(
-        @Parameter(description = "ID of the task to retrieve") @PathVariable Long id) {
+        @Parameter(description = "ID of the task to retrieve") @PathVariable Long id,
+        ServletWebRequest request) {
+        varyByAccept(request);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = taskService.getTaskVersion(id);
+            if (version.isPresent() && request.checkNotModified(TaskEtags.of(version.get()))) {
+                return null;
+            }
+        }
         Task task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok().eTag(TaskEtags.of(task)).body(task);
     }
 
-    @Operation(summary = "Add a new task")
-    @ApiResponse(responseCode = "201", description = "Task successfully created")
+    @Operation(summary = "Add a new task",
+        description = "Send an Idempotency-Key to make retrying safe: a repeat of a request with the same key is "
+            + "answered with the task the first one created, and concurrent repeats wait for the first.")
+    @ApiResponse(responseCode = "201", description = "Task successfully created, or created earlier with the key")
     @ApiResponse(responseCode = "400", description = "Invalid data provided")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different task")
     @PostMapping
     public ResponseEntity<Task> addTask(
+        @Parameter(description = "Unique key chosen by the client for this task, at most 255 characters")
+        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Size(max = 255) String idempotencyKey,
         @Parameter(description = "Task to be added") @Valid @RequestBody Task task) {
-        Task savedTask = taskService.addTask(task);
-        return ResponseEntity.status(CREATED).body(savedTask);
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(CREATED).body(taskService.addTask(task));
+        }
+        Outcome outcome = idempotencyStore.createOnce(idempotencyKey, task, () -> taskService.addTask(task));
+        return ResponseEntity.status(CREATED)
+            .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+            .body(outcome.task());
+    }
+
+    @Operation(summary = "Add up to 500 tasks in one request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Valid tasks created; per-item results returned"),
+        @ApiResponse(responseCode = "400", description = "Batch empty or larger than 500 items")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> addTasks(
+        @Parameter(description = "Tasks to be added") @RequestBody @NotEmpty @Size(max = 500) List<Task> tasks) {
+        return ResponseEntity.ok(taskService.addTasks(tasks));
+    }
+
+    @Operation(summary = "Update up to 500 existing tasks in one request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Valid tasks updated; per-item results returned"),
+        @ApiResponse(responseCode = "400", description = "Batch empty or larger than 500 items")
+    })
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResult> updateTasks(
+        @Parameter(description = "Updated tasks, each with its ID")
+        @RequestBody @NotEmpty @Size(max = 500) List<Task> tasks) {
+        return ResponseEntity.ok(taskService.updateTasks(tasks));
+    }
+
+    @Operation(summary = "Set the status of every task matching a predicate",
+        description = "Runs as set-based UPDATEs committed a chunk at a time, so a failure part way through leaves "
+            + "the earlier chunks applied.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching tasks updated; their IDs returned"),
+        @ApiResponse(responseCode = "400", description = "No criteria, or an invalid status provided")
+    })
+    @PostMapping("/bulk/status")
+    public ResponseEntity<BulkResult> updateTaskStatuses(@Valid @RequestBody BulkStatusUpdateDto update) {
+        return ResponseEntity.ok(bulkUpdates.updateStatus(update.where(), update.status()));
+    }
+
+    @Operation(summary = "Delete every task matching a predicate",
+        description = "Runs as set-based DELETEs committed a chunk at a time, so a failure part way through leaves "
+            + "the earlier chunks deleted.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching tasks deleted; their IDs returned"),
+        @ApiResponse(responseCode = "400", description = "No criteria provided")
+    })
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResult> deleteTasks(
+        @Parameter(description = "Which tasks to delete") @Valid @RequestBody TaskPredicate where) {
+        return ResponseEntity.ok(bulkUpdates.delete(where));
     }
 
     @Operation(summary = "Update an existing task")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task successfully updated"),
-        @ApiResponse(responseCode = "404", description = "Task not found")
+        @ApiResponse(responseCode = "404", description = "Task not found"),
+        @ApiResponse(responseCode = "412", description = "Task has been modified since the given version")
     })
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(
         @Parameter(description = "ID of the task to update") @PathVariable Long id,
+        @Parameter(description = "ETag of the version being replaced; takes precedence over the body's version")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Parameter(description = "Updated task") @Valid @RequestBody Task task) {
-        Task updatedTask = taskService.updateTask(id, task);
-        return ResponseEntity.ok(updatedTask);
+        Long expectedVersion = ifMatch != null ? TaskEtags.requiredVersion(ifMatch) : task.getVersion();
+        Task updatedTask = taskService.updateTask(id, task, expectedVersion);
+        return ResponseEntity.ok().eTag(TaskEtags.of(updatedTask)).varyBy(HttpHeaders.ACCEPT).body(updatedTask);
     }
 
     @Operation(summary = "Update the status of an existing task")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task status successfully updated"),
         @ApiResponse(responseCode = "404", description = "Task not found"),
-        @ApiResponse(responseCode = "400", description = "Invalid status provided")
+        @ApiResponse(responseCode = "400", description = "Invalid status provided"),
+        @ApiResponse(responseCode = "412", description = "Task has been modified since the If-Match version")
     })
     @PatchMapping("/{id}/status")
     public ResponseEntity<Task> updateTaskStatus(
         @Parameter(description = "ID of the task to update") @PathVariable Long id,
+        @Parameter(description = "ETag of the version being changed")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody StatusUpdateDto statusDto) {
-        Task updatedTask = taskService.updateStatus(id, statusDto);
-        return ResponseEntity.ok(updatedTask);
+        Long expectedVersion = TaskEtags.requiredVersion(ifMatch);
+        Task updatedTask = expectedVersion == null && statusUpdates.isEnabled()
+            ? statusUpdates.updateStatus(id, statusDto.status())
+            : taskService.updateStatus(id, statusDto, expectedVersion);
+        return ResponseEntity.ok().eTag(TaskEtags.of(updatedTask)).varyBy(HttpHeaders.ACCEPT).body(updatedTask);
     }
 
     @Operation(summary = "Delete a task by ID")
@@ -98,4 +320,39 @@ public class TaskController {
         taskService.deleteTaskById(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Answers a list request, tagged with the collection's generation unless the page was read from a replica.
+     */
+    private <T> ResponseEntity<T> taggedPage(ServletWebRequest request, Supplier<T> query) {
+        varyByAccept(request);
+        // Taken before querying, so the tag can lag the data but never run ahead of it.
+        String etag = TaskEtags.ofCollection(taskService.getCollectionGeneration());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Read<T> page = ReadRouting.tracked(query);
+        if (page.fromReplica()) {
+            // The replica may not have caught up with the generation yet, so the page can't be tagged with it.
+            return ResponseEntity.ok().body(page.result());
+        }
+        return ResponseEntity.ok().eTag(etag).body(page.result());
+    }
+
+    /**
+     * A task or page is sent as JSON, CBOR or Smile, whichever the request accepts, under the same ETag, so shared
+     * caches must keep the encodings apart. Set on the response itself so a 304 carries it too.
+     */
+    private static void varyByAccept(ServletWebRequest request) {
+        request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    private static void writeLine(ObjectWriter writer, OutputStream out, Task task) {
+        try {
+            out.write(writer.writeValueAsBytes(task));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
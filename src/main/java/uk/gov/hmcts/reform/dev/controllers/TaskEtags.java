@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+
+/**
+ * Strong entity tags for tasks, derived from the task's version, and for task listings, derived from the
+ * collection generation kept by {@code TaskService}.
+ */
+final class TaskEtags {
+
+    /**
+     * Stands in for an If-Match value we can't parse. Versions are never negative, so it will never match and the
+     * conditional update fails with 412, as it would for any other tag that doesn't match.
+     */
+    static final long UNMATCHABLE_VERSION = -1L;
+
+    private TaskEtags() {
+    }
+
+    static String of(Task task) {
+        return of(task.getVersion());
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String ofCollection(String generation) {
+        return "\"" + generation + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header requires, or {@code null} when there is no precondition
+     * (no header, or {@code *}).
+     */
+    static Long requiredVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // If-Match uses strong comparison, so weak tags and lists of tags can never match a single version.
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return UNMATCHABLE_VERSION;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record BatchItemResult(
+    @Schema(description = "Position of the item in the request array", example = "0")
+    int index,
+    @Schema(description = "ID of the created or updated task, when the item was applied", example = "123")
+    Long id,
+    Outcome outcome,
+    @Schema(description = "Why the item was rejected; empty when it was applied")
+    List<String> errors
+) {
+
+    public enum Outcome {
+        CREATED, UPDATED, INVALID, NOT_FOUND, CONFLICT
+    }
+
+    public static BatchItemResult applied(int index, Long id, Outcome outcome) {
+        return new BatchItemResult(index, id, outcome, List.of());
+    }
+
+    public static BatchItemResult invalid(int index, Long id, List<String> errors) {
+        return new BatchItemResult(index, id, Outcome.INVALID, errors);
+    }
+
+    public static BatchItemResult notFound(int index, Long id) {
+        return new BatchItemResult(index, id, Outcome.NOT_FOUND, List.of("Task not found with id: " + id));
+    }
+
+    public static BatchItemResult conflict(int index, Long id) {
+        return new BatchItemResult(
+            index, id, Outcome.CONFLICT, List.of("version: task has been modified since it was read"));
+    }
+
+    public boolean wasApplied() {
+        return errors.isEmpty();
+    }
+}
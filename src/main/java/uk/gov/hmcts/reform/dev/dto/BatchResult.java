@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import java.util.List;
+
+public record BatchResult(
+    int applied,
+    int rejected,
+    List<BatchItemResult> items
+) {
+
+    public static BatchResult of(List<BatchItemResult> items) {
+        int applied = (int) items.stream().filter(BatchItemResult::wasApplied).count();
+        return new BatchResult(applied, items.size() - applied, items);
+    }
+}
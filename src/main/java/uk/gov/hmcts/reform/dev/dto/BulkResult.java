@@ -0,0 +1,12 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record BulkResult(
+    @Schema(description = "Number of tasks changed")
+    int count,
+    @Schema(description = "IDs of the tasks changed, in due date order")
+    List<Long> ids
+) {}
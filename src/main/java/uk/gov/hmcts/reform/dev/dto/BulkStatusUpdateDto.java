@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+public record BulkStatusUpdateDto(
+    @Schema(description = "Which tasks to update")
+    @NotNull
+    @Valid
+    TaskPredicate where,
+    @Schema(description = "Status to give every matching task", example = "COMPLETED")
+    @NotNull
+    Status status
+) {}
@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of tasks holding only the fields asked for, each task keyed by property name.
+ */
+public record PartialTaskPage(
+    @Schema(description = "Tasks with just the requested fields")
+    List<Map<String, Object>> tasks,
+    @Schema(description = "Opaque cursor for the next page, or null when this is the last page")
+    String nextCursor
+) {}
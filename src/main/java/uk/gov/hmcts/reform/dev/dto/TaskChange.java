@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDate;
+
+public record TaskChange(
+    @Schema(description = "Position of this change in the feed; increases by one with every change", example = "1041")
+    long offset,
+    @Schema(description = "What happened to the task; OVERDUE when its due date has just passed")
+    ChangeType type,
+    @Schema(description = "ID of the task that changed", example = "42")
+    Long taskId,
+    @Schema(description = "Status after the change; absent when the task was deleted")
+    Status status,
+    @Schema(description = "Due date after the change; absent when the task was deleted", type = "string",
+        format = "date")
+    LocalDate dueDate
+) {}
@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the grouped count that task statistics are seeded from.
+ */
+public record TaskCount(Status status, LocalDate dueDate, Long count) {}
@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import uk.gov.hmcts.reform.dev.exceptions.InvalidCursorException;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the {@code (dueDate, id)} ordering used for paging through tasks.
+ * Clients only ever see the encoded form, which they should treat as opaque.
+ */
+public record TaskCursor(LocalDate dueDate, long id) {
+
+    private static final char SEPARATOR = ':';
+
+    public static TaskCursor after(Task task) {
+        return new TaskCursor(task.getDueDate(), task.getId());
+    }
+
+    public String encode() {
+        String raw = dueDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + encoded);
+            }
+            return new TaskCursor(
+                LocalDate.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + encoded);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import uk.gov.hmcts.reform.dev.exceptions.InvalidFieldsException;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A task property that can be asked for on its own with {@code fields=}. Each is named as in the task's JSON,
+ * which is also the name of the entity attribute it is read from.
+ */
+public enum TaskField {
+    ID("id", Task::getId),
+    TITLE("title", Task::getTitle),
+    DESCRIPTION("description", Task::getDescription),
+    STATUS("status", Task::getStatus),
+    DUE_DATE("dueDate", Task::getDueDate),
+    VERSION("version", Task::getVersion);
+
+    private final String property;
+    private final Function<Task, Object> getter;
+
+    TaskField(String property, Function<Task, Object> getter) {
+        this.property = property;
+        this.getter = getter;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public Object get(Task task) {
+        return getter.apply(task);
+    }
+
+    /**
+     * Parses a comma-separated list of property names, such as {@code id,title,status}.
+     */
+    public static Set<TaskField> parse(String fields) {
+        Set<TaskField> parsed = EnumSet.noneOf(TaskField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                           .filter(field -> field.property.equals(trimmed))
+                           .findFirst()
+                           .orElseThrow(() -> invalid("Unknown field: " + trimmed)));
+        }
+        if (parsed.isEmpty()) {
+            throw invalid("No fields given");
+        }
+        return parsed;
+    }
+
+    private static InvalidFieldsException invalid(String message) {
+        String known = Arrays.stream(values()).map(TaskField::property).collect(Collectors.joining(", "));
+        return new InvalidFieldsException(message + "; fields may be any of " + known);
+    }
+}
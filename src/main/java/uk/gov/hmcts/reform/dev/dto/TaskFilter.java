@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Optional criteria for listing tasks. A {@code null} date means "don't filter on this", as does an empty set of
+ * statuses; otherwise a task matches if it has any of the given statuses. Both date bounds are exclusive.
+ */
+public record TaskFilter(
+    Set<Status> statuses,
+    LocalDate dueAfter,
+    LocalDate dueBefore
+) {
+    public TaskFilter {
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+    }
+
+    public static TaskFilter none() {
+        return new TaskFilter(Set.of(), null, null);
+    }
+}
@@ -0,0 +1,12 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.List;
+
+public record TaskPage(
+    List<Task> tasks,
+    @Schema(description = "Opaque cursor for the next page, or null when this is the last page")
+    String nextCursor
+) {}
@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Which tasks a bulk change applies to. Criteria combine with AND; an empty set of ids or statuses, or a
+ * {@code null} date, means "don't filter on this". At least one criterion must be given, so that changing every
+ * task is never an accident. Both date bounds are exclusive.
+ */
+public record TaskPredicate(
+    @Schema(description = "Only tasks with one of these IDs")
+    @Size(max = 10_000)
+    Set<Long> ids,
+    @Schema(description = "Only tasks with one of these statuses")
+    Set<Status> statuses,
+    @Schema(description = "Only tasks due after this date", type = "string", format = "date")
+    LocalDate dueAfter,
+    @Schema(description = "Only tasks due before this date", type = "string", format = "date")
+    LocalDate dueBefore
+) {
+    public TaskPredicate {
+        ids = ids == null ? Set.of() : Set.copyOf(ids);
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+    }
+
+    /**
+     * The criteria other than ids, which are the same as when listing tasks.
+     */
+    public TaskFilter filter() {
+        return new TaskFilter(statuses, dueAfter, dueBefore);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "must give ids, statuses, dueAfter or dueBefore")
+    public boolean isRestricted() {
+        return !ids.isEmpty() || !statuses.isEmpty() || dueAfter != null || dueBefore != null;
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public record TaskStats(
+    @Schema(description = "Number of tasks in each status")
+    Map<Status, Long> byStatus,
+    @Schema(description = "Tasks that are not completed and were due before asOf", example = "4")
+    long overdue,
+    @Schema(description = "Total number of tasks", example = "120")
+    long total,
+    @Schema(description = "The day the overdue count was calculated for", type = "string", format = "date")
+    LocalDate asOf
+) {}
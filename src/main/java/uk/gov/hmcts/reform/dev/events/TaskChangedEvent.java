@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@code TaskService} inside the transaction that changes a task. Listeners that must only react to
+ * committed data should use {@code @TransactionalEventListener}.
+ *
+ * <p>{@code before} and {@code after} carry the fields that task statistics are derived from; {@code before} is
+ * {@code null} for a created task and {@code after} is {@code null} for a deleted one.
+ */
+public record TaskChangedEvent(ChangeType type, Long taskId, Snapshot before, Snapshot after) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED,
+        /**
+         * Moved out of the live tasks into the archive, unchanged; {@code before} and {@code after} are the same.
+         */
+        ARCHIVED,
+        /**
+         * Only sent on the change feed, for a {@link TaskOverdueEvent}; never published as a {@code TaskChangedEvent}.
+         */
+        OVERDUE
+    }
+
+    public record Snapshot(Status status, LocalDate dueDate) {
+
+        public static Snapshot of(Task task) {
+            return new Snapshot(task.getStatus(), task.getDueDate());
+        }
+    }
+}
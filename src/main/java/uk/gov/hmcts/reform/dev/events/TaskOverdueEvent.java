@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@code OverdueTaskScheduler} when an open task's due date passes. Nothing about the task has
+ * changed, so it is published outside any transaction.
+ */
+public record TaskOverdueEvent(Long taskId, Status status, LocalDate dueDate) {}
@@ -1,6 +1,8 @@
 package uk.gov.hmcts.reform.dev.exceptions;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -15,4 +17,43 @@ public class GlobalExceptionHandler {
     public Map<String, String> handleTaskNotFound(TaskNotFoundException ex) {
         return Map.of("message", ex.getMessage());
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidCursor(InvalidCursorException ex) {
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidFields(InvalidFieldsException ex) {
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskVersionConflictException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public Map<String, String> handleVersionConflict(TaskVersionConflictException ex) {
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public Map<String, String> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public Map<String, String> handleConcurrentUpdate(ObjectOptimisticLockingFailureException ex) {
+        return Map.of("message", "Task was modified concurrently with id: " + ex.getIdentifier());
+    }
+
+    /**
+     * No database connection could be had in time, usually because the pool is saturated. Worth retrying shortly.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleNoConnection(CannotCreateTransactionException ex) {
+        return Map.of("message", "Service is busy, please try again");
+    }
 }
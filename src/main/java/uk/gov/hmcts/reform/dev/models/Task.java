@@ -2,11 +2,15 @@ package uk.gov.hmcts.reform.dev.models;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityResult;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.SqlResultSetMapping;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -28,10 +32,45 @@ import static jakarta.persistence.GenerationType.SEQUENCE;
 @Setter
 @ToString
 @Entity
+@SqlResultSetMapping(
+    name = Task.STATUS_CHANGE_MAPPING,
+    entities = @EntityResult(entityClass = Task.class),
+    columns = @ColumnResult(name = "previous_status", type = String.class)
+)
+@SqlResultSetMapping(
+    name = Task.COUNT_MAPPING,
+    columns = {
+        @ColumnResult(name = "status", type = String.class),
+        @ColumnResult(name = "due_date", type = LocalDate.class),
+        @ColumnResult(name = "count", type = Long.class)
+    }
+)
+@SqlResultSetMapping(
+    name = Task.KEY_MAPPING,
+    columns = {
+        @ColumnResult(name = "due_date", type = LocalDate.class),
+        @ColumnResult(name = "id", type = Long.class)
+    }
+)
 public class Task {
 
+    /**
+     * Maps a row of task columns plus {@code previous_status} to the task and its previous status.
+     */
+    public static final String STATUS_CHANGE_MAPPING = "TaskStatusChange";
+
+    /**
+     * Maps a row of {@code status}, {@code due_date} and {@code count} to those values.
+     */
+    public static final String COUNT_MAPPING = "TaskCount";
+
+    /**
+     * Maps a row of {@code due_date} and {@code id} to those values.
+     */
+    public static final String KEY_MAPPING = "TaskKey";
+
     @Id
-    @SequenceGenerator(name = "task_seq", sequenceName = "task_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_sequence", allocationSize = 50)
     @GeneratedValue(strategy = SEQUENCE, generator = "task_seq")
     @Schema(description = "Task ID", accessMode = READ_ONLY, example = "123")
     private Long id;
@@ -57,4 +96,20 @@ public class Task {
     @NotNull
     @Column(nullable = false)
     private LocalDate dueDate;
+
+    // Not read-only: PUT /v1/tasks/batch can only take the version being replaced from each task's body, and
+    // generated clients leave read-only fields out of requests. Creates ignore it.
+    @Schema(description = "Incremented on every change. Ignored when creating a task; when updating, the version "
+        + "being replaced, refused with 412 if the task has changed since (If-Match takes precedence)",
+        example = "3")
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Returns a detached copy, for handing out state that must not be tied to a persistence context.
+     */
+    public Task copy() {
+        return new Task(id, title, description, status, dueDate, version);
+    }
 }
@@ -0,0 +1,377 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.dto.TaskCount;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.Chunk;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.StatusChange;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps tasks in the application's heap, for deployments without a database and as a baseline in benchmarks. Tasks
+ * are lost on restart and every instance has its own.
+ *
+ * <p>Tasks are held in a {@link LongTaskMap} by id, with a {@link TaskIndex} on due date and status serving pages.
+ * A read-write lock lets any number of reads run together while writes take turns. Tasks are copied on the way in
+ * and out, so nothing a caller does to a task it holds affects the store until it is saved.
+ *
+ * <p>Each call stands on its own: a transaction that fails after saving does not undo the save.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.store", name = "engine", havingValue = "memory")
+public class InMemoryTaskStore implements TaskStore {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongTaskMap tasks = new LongTaskMap();
+    private final TaskIndex index = new TaskIndex();
+    private long lastId;
+
+    @Override
+    public Optional<Task> findById(long id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(copy(tasks.get(id)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        List<Task> found = new ArrayList<>(ids.size());
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                Task task = tasks.get(id);
+                if (task != null) {
+                    found.add(task.copy());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        lock.readLock().lock();
+        try {
+            return tasks.get(id) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Long> findVersionById(long id) {
+        lock.readLock().lock();
+        try {
+            Task task = tasks.get(id);
+            return task == null ? Optional.empty() : Optional.of(task.getVersion());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findPage(TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] ids = index.page(filter, direction, after, limit);
+            List<Task> page = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                page.add(tasks.get(id).copy());
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the fields straight from the stored tasks, without copying them.
+     */
+    @Override
+    public List<Map<TaskField, Object>> findPageFields(
+        TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit, Set<TaskField> fields) {
+        lock.readLock().lock();
+        try {
+            long[] ids = index.page(filter, direction, after, limit);
+            List<Map<TaskField, Object>> page = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                Task task = tasks.get(id);
+                Map<TaskField, Object> values = new EnumMap<>(TaskField.class);
+                for (TaskField field : fields) {
+                    values.put(field, field.get(task));
+                }
+                page.add(values);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the tasks a batch at a time, releasing the lock while {@code sink} handles each batch, so a slow
+     * export never holds up writes. Tasks changed meanwhile are exported as they are when their batch is read.
+     */
+    @Override
+    public long exportAll(Consumer<Task> sink) {
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = tasks.sortedKeys();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long exported = 0;
+        List<Task> batch = new ArrayList<>(500);
+        for (int from = 0; from < ids.length; from += 500) {
+            batch.clear();
+            lock.readLock().lock();
+            try {
+                for (int i = from; i < Math.min(from + 500, ids.length); i++) {
+                    Task task = tasks.get(ids[i]);
+                    if (task != null) {
+                        batch.add(task.copy());
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            batch.forEach(sink);
+            exported += batch.size();
+        }
+        return exported;
+    }
+
+    @Override
+    public Task save(Task task) {
+        lock.writeLock().lock();
+        try {
+            checkVersion(task);
+            return put(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> toSave) {
+        List<Task> saved = new ArrayList<>(toSave.size());
+        lock.writeLock().lock();
+        try {
+            toSave.forEach(this::checkVersion);
+            for (Task task : toSave) {
+                saved.add(put(task));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<StatusChange> updateStatus(long id, Status status, Long expectedVersion) {
+        lock.writeLock().lock();
+        try {
+            Task task = tasks.get(id);
+            if (task == null || expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                return Optional.empty();
+            }
+            return Optional.of(setStatus(task, status));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<StatusChange> updateStatuses(Map<Long, Status> statuses) {
+        List<StatusChange> changes = new ArrayList<>(statuses.size());
+        lock.writeLock().lock();
+        try {
+            statuses.forEach((id, status) -> {
+                Task task = tasks.get(id);
+                if (task != null) {
+                    changes.add(setStatus(task, status));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return changes;
+    }
+
+    @Override
+    public Chunk<StatusChange> updateStatusWhere(TaskPredicate where, TaskCursor after, int limit, Status status) {
+        lock.writeLock().lock();
+        try {
+            long[] chunk = chunk(where, after, limit);
+            if (chunk.length == 0) {
+                return Chunk.empty();
+            }
+            TaskCursor end = TaskCursor.after(tasks.get(chunk[chunk.length - 1]));
+            List<StatusChange> changes = new ArrayList<>();
+            for (long id : chunk) {
+                changes.add(setStatus(tasks.get(id), status));
+            }
+            return new Chunk<>(changes, chunk.length, end);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Chunk<Task> deleteWhere(TaskPredicate where, TaskCursor after, int limit) {
+        lock.writeLock().lock();
+        try {
+            long[] chunk = chunk(where, after, limit);
+            if (chunk.length == 0) {
+                return Chunk.empty();
+            }
+            TaskCursor end = TaskCursor.after(tasks.get(chunk[chunk.length - 1]));
+            List<Task> deleted = new ArrayList<>();
+            for (long id : chunk) {
+                Task removed = tasks.remove(id);
+                index.remove(id, removed.getStatus(), removed.getDueDate());
+                deleted.add(removed.copy());
+            }
+            return new Chunk<>(deleted, chunk.length, end);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Task task) {
+        lock.writeLock().lock();
+        try {
+            checkVersion(task);
+            Task removed = tasks.remove(task.getId());
+            if (removed != null) {
+                index.remove(removed.getId(), removed.getStatus(), removed.getDueDate());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Never archives anything: every task is in memory either way, and pages filtered by status never read the
+     * completed tasks in the index.
+     */
+    @Override
+    public List<Task> archiveCompleted(LocalDate dueBefore, int limit) {
+        return List.of();
+    }
+
+    @Override
+    public Optional<Task> findArchivedById(long id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<TaskCount> countByStatusAndDueDate() {
+        lock.readLock().lock();
+        try {
+            return index.counts();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the next {@code limit} tasks matching {@code where} in {@code (dueDate, id)} order. Without
+     * ids that is a page of the index; with them, only the tasks named are looked at.
+     */
+    private long[] chunk(TaskPredicate where, TaskCursor after, int limit) {
+        TaskFilter filter = where.filter();
+        if (where.ids().isEmpty()) {
+            return index.page(filter, Sort.Direction.ASC, after, limit);
+        }
+        return where.ids().stream()
+            .map(tasks::get)
+            .filter(Objects::nonNull)
+            .filter(task -> matches(task, filter, after))
+            .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId))
+            .limit(limit)
+            .mapToLong(Task::getId)
+            .toArray();
+    }
+
+    private static boolean matches(Task task, TaskFilter filter, TaskCursor after) {
+        LocalDate dueDate = task.getDueDate();
+        return (filter.statuses().isEmpty() || filter.statuses().contains(task.getStatus()))
+            && (filter.dueAfter() == null || dueDate.isAfter(filter.dueAfter()))
+            && (filter.dueBefore() == null || dueDate.isBefore(filter.dueBefore()))
+            && (after == null || dueDate.isAfter(after.dueDate())
+                || dueDate.equals(after.dueDate()) && task.getId() > after.id());
+    }
+
+    /**
+     * Refuses to overwrite or delete a task that has changed, or gone, since the caller read it.
+     */
+    private void checkVersion(Task task) {
+        if (task.getId() == null) {
+            return;
+        }
+        Task stored = tasks.get(task.getId());
+        if (stored == null || !Objects.equals(stored.getVersion(), task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+    }
+
+    private Task put(Task task) {
+        Task stored = task.copy();
+        if (stored.getId() == null) {
+            stored.setId(++lastId);
+            stored.setVersion(0L);
+        } else {
+            stored.setVersion(stored.getVersion() + 1);
+        }
+        Task previous = tasks.put(stored.getId(), stored);
+        if (previous != null) {
+            index.remove(previous.getId(), previous.getStatus(), previous.getDueDate());
+        }
+        index.add(stored.getId(), stored.getStatus(), stored.getDueDate());
+        return stored.copy();
+    }
+
+    private StatusChange setStatus(Task task, Status status) {
+        Status previous = task.getStatus();
+        Task updated = task.copy();
+        updated.setStatus(status);
+        updated.setVersion(task.getVersion() + 1);
+        tasks.put(updated.getId(), updated);
+        index.remove(task.getId(), previous, task.getDueDate());
+        index.add(updated.getId(), status, updated.getDueDate());
+        return new StatusChange(updated.copy(), previous);
+    }
+
+    private static Task copy(Task task) {
+        return task == null ? null : task.copy();
+    }
+}
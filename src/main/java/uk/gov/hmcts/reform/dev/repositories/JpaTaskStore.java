@@ -0,0 +1,151 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.TaskArchiveProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskCount;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.Chunk;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.StatusChange;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Keeps tasks in Postgres. Tasks read inside a transaction are managed entities, so changes to them are flushed on
+ * commit whether or not they are saved.
+ *
+ * <p>{@code task_archive} is only read while archiving is enabled, so a database created before it existed keeps
+ * working until archiving is turned on.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.store", name = "engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaTaskStore implements TaskStore {
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TaskArchiveProperties archive;
+
+    public JpaTaskStore(TaskRepository taskRepository, EntityManager entityManager, TaskArchiveProperties archive) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.archive = archive;
+    }
+
+    @Override
+    public Optional<Task> findById(long id) {
+        return taskRepository.findById(id);
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        return taskRepository.findAllById(ids);
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return taskRepository.existsById(id);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(long id) {
+        return taskRepository.findVersionById(id);
+    }
+
+    @Override
+    public List<Task> findPage(TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit) {
+        return taskRepository.findPage(filter, direction, after, limit);
+    }
+
+    @Override
+    public List<Map<TaskField, Object>> findPageFields(
+        TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit, Set<TaskField> fields) {
+        return taskRepository.findPageFields(filter, direction, after, limit, fields);
+    }
+
+    /**
+     * Detaches each task after use, so the persistence context never holds more than the current row however
+     * large the table is.
+     */
+    @Override
+    public long exportAll(Consumer<Task> sink) {
+        long exported = 0;
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                sink.accept(task);
+                entityManager.detach(task);
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    @Override
+    public Task save(Task task) {
+        return taskRepository.save(task);
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        return taskRepository.saveAll(tasks);
+    }
+
+    @Override
+    public Optional<StatusChange> updateStatus(long id, Status status, Long expectedVersion) {
+        return taskRepository.updateStatus(id, status, expectedVersion);
+    }
+
+    @Override
+    public List<StatusChange> updateStatuses(Map<Long, Status> statuses) {
+        return taskRepository.updateStatuses(statuses);
+    }
+
+    @Override
+    public Chunk<StatusChange> updateStatusWhere(TaskPredicate where, TaskCursor after, int limit, Status status) {
+        return taskRepository.updateStatusWhere(where, after, limit, status);
+    }
+
+    @Override
+    public Chunk<Task> deleteWhere(TaskPredicate where, TaskCursor after, int limit) {
+        return taskRepository.deleteWhere(where, after, limit);
+    }
+
+    @Override
+    public void delete(Task task) {
+        taskRepository.delete(task);
+    }
+
+    @Override
+    public List<Task> archiveCompleted(LocalDate dueBefore, int limit) {
+        return taskRepository.archiveCompleted(dueBefore, limit);
+    }
+
+    @Override
+    public Optional<Task> findArchivedById(long id) {
+        if (!archive.enabled()) {
+            return Optional.empty();
+        }
+        return taskRepository.findArchivedById(id);
+    }
+
+    @Override
+    public List<TaskCount> countByStatusAndDueDate() {
+        return taskRepository.countByStatusAndDueDate(archive.enabled());
+    }
+}
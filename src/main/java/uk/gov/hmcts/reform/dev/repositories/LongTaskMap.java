@@ -0,0 +1,150 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.Arrays;
+
+/**
+ * Tasks by id, in an open-addressing table with linear probing over parallel {@code long} and {@code Task} arrays,
+ * so looking a task up never boxes its id or allocates. Ids must be positive: zero marks an empty slot. Removal
+ * shifts the rest of the probe run back rather than leaving tombstones, so lookups never slow down with churn.
+ *
+ * <p>Not thread-safe; {@link InMemoryTaskStore} guards it with its lock.
+ */
+final class LongTaskMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Task[] values;
+    private int mask;
+    private int size;
+
+    LongTaskMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    Task get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if (existing == key) {
+                return values[slot];
+            }
+            if (existing == 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Maps {@code key} to {@code value}, returning the task it replaced, if any.
+     */
+    Task put(long key, Task value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Task ids must be positive: " + key);
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                Task previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        // Kept at most half full, so probe runs stay short.
+        if (++size > keys.length / 2) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    Task remove(long key) {
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == 0) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        Task removed = values[slot];
+        shiftBack(slot);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Returns every id in ascending order.
+     */
+    long[] sortedKeys() {
+        long[] sorted = new long[size];
+        int next = 0;
+        for (long key : keys) {
+            if (key != 0) {
+                sorted[next++] = key;
+            }
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Fills the hole left at {@code hole} by moving back any later entry in the run that would otherwise become
+     * unreachable from its home slot.
+     */
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == 0) {
+                break;
+            }
+            int home = slot(key);
+            // Move the entry unless its home lies cyclically after the hole and at or before where it sits now.
+            boolean reachable = hole <= slot ? hole < home && home <= slot : hole < home || home <= slot;
+            if (!reachable) {
+                keys[hole] = key;
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Task[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int slot = slot(key);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Task[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        // Sequential ids would otherwise fill one run of neighbouring slots.
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
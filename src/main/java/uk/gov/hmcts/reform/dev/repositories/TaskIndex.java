@@ -0,0 +1,203 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.data.domain.Sort;
+import uk.gov.hmcts.reform.dev.dto.TaskCount;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Task ids ordered by {@code (dueDate, status, id)}: a sorted map of due dates, each holding a sorted array of ids
+ * per status. A page of tasks is read by walking the due dates in range and merging the arrays of just the
+ * statuses asked for, so it costs about the same however many tasks fall outside the filter.
+ *
+ * <p>Not thread-safe; {@link InMemoryTaskStore} guards it with its lock.
+ */
+final class TaskIndex {
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final NavigableMap<LocalDate, Ids[]> byDueDate = new TreeMap<>();
+
+    void add(long id, Status status, LocalDate dueDate) {
+        Ids[] byStatus = byDueDate.computeIfAbsent(dueDate, date -> new Ids[STATUSES.length]);
+        Ids ids = byStatus[status.ordinal()];
+        if (ids == null) {
+            ids = new Ids();
+            byStatus[status.ordinal()] = ids;
+        }
+        ids.add(id);
+    }
+
+    void remove(long id, Status status, LocalDate dueDate) {
+        Ids[] byStatus = byDueDate.get(dueDate);
+        Ids ids = byStatus == null ? null : byStatus[status.ordinal()];
+        if (ids == null) {
+            return;
+        }
+        ids.remove(id);
+        if (ids.size == 0) {
+            byStatus[status.ordinal()] = null;
+            if (Arrays.stream(byStatus).allMatch(other -> other == null)) {
+                byDueDate.remove(dueDate);
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} ids matching {@code filter} in {@code (dueDate, id)} order, starting strictly
+     * after {@code after} when it is given.
+     */
+    long[] page(TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit) {
+        boolean ascending = direction.isAscending();
+        NavigableMap<LocalDate, Ids[]> range = range(filter, ascending, after);
+        if (!ascending) {
+            range = range.descendingMap();
+        }
+        List<Status> statuses = filter.statuses().isEmpty()
+            ? Arrays.asList(STATUSES)
+            : List.copyOf(filter.statuses());
+
+        long[] page = new long[limit];
+        int found = 0;
+        Ids[] merging = new Ids[statuses.size()];
+        int[] positions = new int[statuses.size()];
+        for (Map.Entry<LocalDate, Ids[]> entry : range.entrySet()) {
+            boolean cursorDate = after != null && entry.getKey().equals(after.dueDate());
+            for (int i = 0; i < merging.length; i++) {
+                Ids ids = entry.getValue()[statuses.get(i).ordinal()];
+                merging[i] = ids;
+                if (ids != null) {
+                    positions[i] = cursorDate ? startAfter(ids, ascending, after.id()) : (ascending ? 0 : ids.size - 1);
+                }
+            }
+            while (found < limit) {
+                int next = next(merging, positions, ascending);
+                if (next < 0) {
+                    break;
+                }
+                page[found++] = merging[next].ids[positions[next]];
+                positions[next] += ascending ? 1 : -1;
+            }
+            if (found == limit) {
+                break;
+            }
+        }
+        return Arrays.copyOf(page, found);
+    }
+
+    List<TaskCount> counts() {
+        List<TaskCount> counts = new ArrayList<>();
+        byDueDate.forEach((dueDate, byStatus) -> {
+            for (Status status : STATUSES) {
+                Ids ids = byStatus[status.ordinal()];
+                if (ids != null) {
+                    counts.add(new TaskCount(status, dueDate, (long) ids.size));
+                }
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Narrows the due dates to those the filter and cursor allow. The cursor's own date is kept, since ids beyond
+     * the cursor's may remain on it.
+     */
+    private NavigableMap<LocalDate, Ids[]> range(TaskFilter filter, boolean ascending, TaskCursor after) {
+        LocalDate from = filter.dueAfter();
+        boolean fromInclusive = false;
+        LocalDate to = filter.dueBefore();
+        boolean toInclusive = false;
+        if (after != null && ascending && (from == null || after.dueDate().isAfter(from))) {
+            from = after.dueDate();
+            fromInclusive = true;
+        } else if (after != null && !ascending && (to == null || after.dueDate().isBefore(to))) {
+            to = after.dueDate();
+            toInclusive = true;
+        }
+
+        if (from != null && to != null) {
+            return from.isAfter(to)
+                ? Collections.emptyNavigableMap()
+                : byDueDate.subMap(from, fromInclusive, to, toInclusive);
+        }
+        if (from != null) {
+            return byDueDate.tailMap(from, fromInclusive);
+        }
+        return to != null ? byDueDate.headMap(to, toInclusive) : byDueDate;
+    }
+
+    /**
+     * Returns where to start reading {@code ids} on the cursor's date: at the first id beyond {@code afterId} in
+     * reading order.
+     */
+    private static int startAfter(Ids ids, boolean ascending, long afterId) {
+        int index = Arrays.binarySearch(ids.ids, 0, ids.size, afterId);
+        int insertion = index >= 0 ? index : -index - 1;
+        if (ascending) {
+            return index >= 0 ? index + 1 : insertion;
+        }
+        return insertion - 1;
+    }
+
+    /**
+     * Returns which of the arrays being merged holds the next id in reading order, or -1 once all are used up.
+     */
+    private static int next(Ids[] merging, int[] positions, boolean ascending) {
+        int next = -1;
+        long best = 0;
+        for (int i = 0; i < merging.length; i++) {
+            Ids ids = merging[i];
+            if (ids == null || positions[i] < 0 || positions[i] >= ids.size) {
+                continue;
+            }
+            long id = ids.ids[positions[i]];
+            if (next < 0 || (ascending ? id < best : id > best)) {
+                next = i;
+                best = id;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * A sorted set of ids in a growable array.
+     */
+    private static final class Ids {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertion = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        private void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+}
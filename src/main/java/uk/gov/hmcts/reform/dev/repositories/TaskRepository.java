@@ -1,10 +1,36 @@
 package uk.gov.hmcts.reform.dev.repositories;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import uk.gov.hmcts.reform.dev.models.Task;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
     Task findByTitle(String title);
 
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Streams every task in id order over a server-side cursor. Must be consumed inside a transaction and closed
+     * afterwards; the fetch size bounds how many rows the driver buffers at once and the read-only hint stops
+     * Hibernate keeping a dirty-checking snapshot of each row.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAll();
+
 }
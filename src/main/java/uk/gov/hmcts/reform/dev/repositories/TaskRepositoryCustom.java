@@ -0,0 +1,100 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.data.domain.Sort;
+import uk.gov.hmcts.reform.dev.dto.TaskCount;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} tasks matching {@code filter}, ordered by {@code (dueDate, id)} in
+     * {@code direction} and starting strictly after {@code after} when it is given. Only the predicates that are
+     * actually set are added to the query, so each combination can be served by a forward or backward range scan
+     * on one of the {@code due_date, id} indexes.
+     */
+    List<Task> findPage(TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit);
+
+    /**
+     * Returns the same page as {@link #findPage}, but selecting only the columns behind {@code fields} and
+     * returning their values rather than entities, so nothing is added to the persistence context.
+     */
+    List<Map<TaskField, Object>> findPageFields(
+        TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit, Set<TaskField> fields);
+
+    /**
+     * Sets the status and bumps the version in a single {@code UPDATE ... RETURNING} round trip. When
+     * {@code expectedVersion} is given the row is only changed if it still has that version. Returns empty when
+     * no row was changed, either because the task doesn't exist or because its version has moved on.
+     */
+    Optional<StatusChange> updateStatus(Long id, Status status, Long expectedVersion);
+
+    /**
+     * Sets a different status on each of many tasks, bumping their versions, in one {@code UPDATE}. Returns a
+     * change for each task that exists; ids with no task are left out.
+     */
+    List<StatusChange> updateStatuses(Map<Long, Status> statuses);
+
+    /**
+     * Sets {@code status} on up to {@code limit} tasks matching {@code where}, bumping their versions. The next
+     * {@code limit} matching tasks in {@code (dueDate, id)} order, starting strictly after {@code after} when it is
+     * given, are read first; then those rows are locked in that order and changed in one
+     * {@code UPDATE ... RETURNING}, skipping any that no longer match once locked. Returns the changes in that
+     * order, and where the chunk ended.
+     */
+    Chunk<StatusChange> updateStatusWhere(TaskPredicate where, TaskCursor after, int limit, Status status);
+
+    /**
+     * Deletes up to {@code limit} tasks matching {@code where} in one {@code DELETE ... RETURNING}, taken as by
+     * {@link #updateStatusWhere}. Returns the deleted tasks in {@code (dueDate, id)} order, and where the chunk
+     * ended.
+     */
+    Chunk<Task> deleteWhere(TaskPredicate where, TaskCursor after, int limit);
+
+    /**
+     * Moves up to {@code limit} completed tasks due before {@code dueBefore} from {@code task} to
+     * {@code task_archive} in one statement, earliest due first. Rows another transaction has locked are skipped
+     * rather than waited for, so archiving never holds up a user's change. The same statement adds the tasks moved
+     * to {@code task_archive_count}. Returns the tasks moved.
+     */
+    List<Task> archiveCompleted(LocalDate dueBefore, int limit);
+
+    /**
+     * Reads a task from {@code task_archive}.
+     */
+    Optional<Task> findArchivedById(long id);
+
+    /**
+     * Counts tasks by status and due date in {@code task}, adding the archived counts from
+     * {@code task_archive_count} if {@code includeArchived}.
+     */
+    List<TaskCount> countByStatusAndDueDate(boolean includeArchived);
+
+    /**
+     * The task as it is after a status update, along with the status it had just before.
+     */
+    record StatusChange(Task task, Status previousStatus) {}
+
+    /**
+     * One chunk of a bulk change: what it changed, how many tasks it read, and the key of the last of them as it
+     * was read, which the next chunk starts after. That is not taken from the changed rows: a task whose due date
+     * was changed while the chunk was being locked would sort somewhere else, and starting after it could skip
+     * tasks that were never looked at. {@code end} is {@code null} when there was nothing left to read.
+     */
+    record Chunk<T>(List<T> changed, int read, TaskCursor end) {
+
+        public static <T> Chunk<T> empty() {
+            return new Chunk<>(List.of(), 0, null);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import uk.gov.hmcts.reform.dev.dto.TaskCount;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final Comparator<Task> CHUNK_ORDER =
+        Comparator.comparing(Task::getDueDate).thenComparing(Task::getId);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Task> findPage(TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(task);
+        where(cb, query, task, filter, direction, after);
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public List<Map<TaskField, Object>> findPageFields(
+        TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        List<TaskField> selected = List.copyOf(fields);
+        query.multiselect(selected.stream().<Selection<?>>map(field -> task.get(field.property())).toList());
+        where(cb, query, task, filter, direction, after);
+
+        List<Tuple> rows = entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+        List<Map<TaskField, Object>> page = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<TaskField, Object> values = new EnumMap<>(TaskField.class);
+            for (int i = 0; i < selected.size(); i++) {
+                values.put(selected.get(i), row.get(i));
+            }
+            page.add(values);
+        }
+        return page;
+    }
+
+    /**
+     * Adds the filter and cursor predicates and the {@code (dueDate, id)} ordering shared by both kinds of page.
+     */
+    private static void where(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Task> task, TaskFilter filter,
+                              Sort.Direction direction, TaskCursor after) {
+        Path<LocalDate> dueDate = task.get("dueDate");
+        Path<Long> id = task.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (!filter.statuses().isEmpty()) {
+            predicates.add(task.get("status").in(filter.statuses()));
+        }
+        if (filter.dueAfter() != null) {
+            predicates.add(cb.greaterThan(dueDate, filter.dueAfter()));
+        }
+        if (filter.dueBefore() != null) {
+            predicates.add(cb.lessThan(dueDate, filter.dueBefore()));
+        }
+        if (after != null && direction.isAscending()) {
+            // The leading "due_date >= ?" is implied by the OR below, but spelling it out gives the planner an
+            // index start key, so later pages seek straight to the cursor instead of skipping earlier rows.
+            predicates.add(cb.greaterThanOrEqualTo(dueDate, after.dueDate()));
+            predicates.add(cb.or(
+                cb.greaterThan(dueDate, after.dueDate()),
+                cb.greaterThan(id, after.id())
+            ));
+        } else if (after != null) {
+            predicates.add(cb.lessThanOrEqualTo(dueDate, after.dueDate()));
+            predicates.add(cb.or(
+                cb.lessThan(dueDate, after.dueDate()),
+                cb.lessThan(id, after.id())
+            ));
+        }
+
+        query.where(predicates.toArray(Predicate[]::new))
+            .orderBy(direction.isAscending()
+                         ? List.of(cb.asc(dueDate), cb.asc(id))
+                         : List.of(cb.desc(dueDate), cb.desc(id)));
+    }
+
+    @Override
+    public Optional<StatusChange> updateStatus(Long id, Status status, Long expectedVersion) {
+        // RETURNING only sees the new row, so the old status is read by a subquery that locks the row first. The
+        // lock makes it wait for any concurrent writer and then read the row the UPDATE is about to change.
+        String sql = "UPDATE task t SET status = :status, version = t.version + 1"
+            + " FROM (SELECT id, status FROM task WHERE id = :id FOR UPDATE) old"
+            + " WHERE t.id = old.id"
+            + (expectedVersion == null ? "" : " AND t.version = :version")
+            + " RETURNING t.*, old.status AS previous_status";
+        Query query = entityManager.createNativeQuery(sql, Task.STATUS_CHANGE_MAPPING)
+            .setParameter("status", status.name())
+            .setParameter("id", id);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        List<?> rows = query.getResultList();
+        return rows.stream()
+            .findFirst()
+            .map(Object[].class::cast)
+            .map(row -> new StatusChange((Task) row[0], Status.valueOf((String) row[1])));
+    }
+
+    @Override
+    public List<StatusChange> updateStatuses(Map<Long, Status> statuses) {
+        Long[] ids = new Long[statuses.size()];
+        String[] newStatuses = new String[statuses.size()];
+        int i = 0;
+        for (Map.Entry<Long, Status> entry : statuses.entrySet()) {
+            ids[i] = entry.getKey();
+            newStatuses[i] = entry.getValue().name();
+            i++;
+        }
+        // The ids and statuses go in as two arrays, so the statement text is the same whatever the batch size.
+        // Rows are locked in id order, so two batches touching the same tasks can't deadlock.
+        String sql = "UPDATE task t SET status = u.status, version = t.version + 1"
+            + " FROM (SELECT id, status FROM task WHERE id = ANY(:ids) ORDER BY id FOR UPDATE) old,"
+            + " unnest(:ids, :statuses) AS u(id, status)"
+            + " WHERE t.id = old.id AND u.id = old.id"
+            + " RETURNING t.*, old.status AS previous_status";
+        List<?> rows = entityManager.createNativeQuery(sql, Task.STATUS_CHANGE_MAPPING)
+            .setParameter("ids", ids)
+            .setParameter("statuses", newStatuses)
+            .getResultList();
+        return rows.stream()
+            .map(Object[].class::cast)
+            .map(row -> new StatusChange((Task) row[0], Status.valueOf((String) row[1])))
+            .toList();
+    }
+
+    @Override
+    public Chunk<StatusChange> updateStatusWhere(TaskPredicate where, TaskCursor after, int limit, Status status) {
+        List<TaskCursor> read = readChunk(where, after, limit);
+        if (read.isEmpty()) {
+            return Chunk.empty();
+        }
+        String sql = "UPDATE task t SET status = :status, version = t.version + 1"
+            + " FROM (" + lockChunk("id, status", where, after) + ") old"
+            + " WHERE t.id = old.id"
+            + " RETURNING t.*, old.status AS previous_status";
+        Query query = entityManager.createNativeQuery(sql, Task.STATUS_CHANGE_MAPPING)
+            .setParameter("status", status.name());
+        List<?> rows = bindChunk(query, where, after, read).getResultList();
+        List<StatusChange> changes = rows.stream()
+            .map(Object[].class::cast)
+            .map(row -> new StatusChange((Task) row[0], Status.valueOf((String) row[1])))
+            .sorted(Comparator.comparing(StatusChange::task, CHUNK_ORDER))
+            .toList();
+        return new Chunk<>(changes, read.size(), read.getLast());
+    }
+
+    @Override
+    public Chunk<Task> deleteWhere(TaskPredicate where, TaskCursor after, int limit) {
+        List<TaskCursor> read = readChunk(where, after, limit);
+        if (read.isEmpty()) {
+            return Chunk.empty();
+        }
+        String sql = "DELETE FROM task t USING (" + lockChunk("id", where, after) + ") old"
+            + " WHERE t.id = old.id"
+            + " RETURNING t.*";
+        List<?> rows = bindChunk(entityManager.createNativeQuery(sql, Task.class), where, after, read)
+            .getResultList();
+        List<Task> deleted = rows.stream()
+            .map(Task.class::cast)
+            .sorted(CHUNK_ORDER)
+            .toList();
+        return new Chunk<>(deleted, read.size(), read.getLast());
+    }
+
+    @Override
+    public List<Task> archiveCompleted(LocalDate dueBefore, int limit) {
+        String sql = "WITH moved AS ("
+            + "DELETE FROM task t USING ("
+            + "SELECT id FROM task WHERE status = 'COMPLETED' AND due_date < :dueBefore"
+            + " ORDER BY due_date, id LIMIT :limit FOR UPDATE SKIP LOCKED) old"
+            + " WHERE t.id = old.id"
+            + " RETURNING t.id, t.title, t.description, t.status, t.due_date, t.version),"
+            + " counted AS ("
+            + "INSERT INTO task_archive_count (status, due_date, task_count)"
+            + " SELECT status, due_date, count(*) FROM moved GROUP BY status, due_date"
+            + " ON CONFLICT (status, due_date)"
+            + " DO UPDATE SET task_count = task_archive_count.task_count + EXCLUDED.task_count)"
+            + " INSERT INTO task_archive (id, title, description, status, due_date, version)"
+            + " SELECT id, title, description, status, due_date, version FROM moved"
+            + " RETURNING id, title, description, status, due_date, version";
+        List<?> rows = entityManager.createNativeQuery(sql, Task.class)
+            .setParameter("dueBefore", dueBefore)
+            .setParameter("limit", limit)
+            .getResultList();
+        return rows.stream()
+            .map(Task.class::cast)
+            .sorted(CHUNK_ORDER)
+            .toList();
+    }
+
+    @Override
+    public Optional<Task> findArchivedById(long id) {
+        List<?> rows = entityManager.createNativeQuery(
+                "SELECT id, title, description, status, due_date, version FROM task_archive WHERE id = :id",
+                Task.class)
+            .setParameter("id", id)
+            .getResultList();
+        return rows.stream().map(Task.class::cast).findFirst();
+    }
+
+    /**
+     * Archived tasks are counted from {@code task_archive_count}, which {@link #archiveCompleted} keeps up to date in
+     * the same statement that moves them, so seeding statistics never reads the archive itself.
+     */
+    @Override
+    public List<TaskCount> countByStatusAndDueDate(boolean includeArchived) {
+        String live = "SELECT status, due_date, count(*) AS count FROM task GROUP BY status, due_date";
+        String sql = includeArchived
+            ? "SELECT status, due_date, CAST(sum(count) AS BIGINT) AS count FROM ("
+                + live + " UNION ALL SELECT status, due_date, task_count FROM task_archive_count) t"
+                + " GROUP BY status, due_date"
+            : live;
+        List<?> rows = entityManager.createNativeQuery(sql, Task.COUNT_MAPPING).getResultList();
+        return rows.stream()
+            .map(Object[].class::cast)
+            .map(row -> new TaskCount(Status.valueOf((String) row[0]), (LocalDate) row[1], (Long) row[2]))
+            .toList();
+    }
+
+    /**
+     * Reads the keys of the next chunk of tasks matching {@code where}, without locking them, in
+     * {@code (dueDate, id)} order so that it can be served by a range scan on the {@code due_date, id} indexes.
+     */
+    private List<TaskCursor> readChunk(TaskPredicate where, TaskCursor after, int limit) {
+        String sql = "SELECT due_date, id FROM task WHERE " + matching(where, after)
+            + " ORDER BY due_date, id LIMIT :limit";
+        List<?> rows = bindMatching(entityManager.createNativeQuery(sql, Task.KEY_MAPPING), where, after)
+            .setParameter("limit", limit)
+            .getResultList();
+        return rows.stream()
+            .map(Object[].class::cast)
+            .map(row -> new TaskCursor((LocalDate) row[0], (Long) row[1]))
+            .toList();
+    }
+
+    /**
+     * Locks the tasks of a chunk read by {@link #readChunk}. The criteria are repeated so that Postgres checks them
+     * again once each row is locked, and leaves out any task that no longer matches; locking in a fixed order means
+     * two bulk changes can't deadlock.
+     */
+    private static String lockChunk(String columns, TaskPredicate where, TaskCursor after) {
+        return "SELECT " + columns + " FROM task WHERE id = ANY(:chunk) AND " + matching(where, after)
+            + " ORDER BY due_date, id FOR UPDATE";
+    }
+
+    /**
+     * The conditions for a task to be in a chunk. Only the criteria that are set are added.
+     */
+    private static String matching(TaskPredicate where, TaskCursor after) {
+        StringBuilder sql = new StringBuilder("true");
+        if (!where.ids().isEmpty()) {
+            sql.append(" AND id = ANY(:ids)");
+        }
+        if (!where.statuses().isEmpty()) {
+            sql.append(" AND status = ANY(:statuses)");
+        }
+        if (where.dueAfter() != null) {
+            sql.append(" AND due_date > :dueAfter");
+        }
+        if (where.dueBefore() != null) {
+            sql.append(" AND due_date < :dueBefore");
+        }
+        if (after != null) {
+            sql.append(" AND (due_date, id) > (:afterDueDate, :afterId)");
+        }
+        return sql.toString();
+    }
+
+    private static Query bindChunk(Query query, TaskPredicate where, TaskCursor after, List<TaskCursor> chunk) {
+        return bindMatching(query, where, after)
+            .setParameter("chunk", chunk.stream().map(TaskCursor::id).toArray(Long[]::new));
+    }
+
+    private static Query bindMatching(Query query, TaskPredicate where, TaskCursor after) {
+        if (!where.ids().isEmpty()) {
+            query.setParameter("ids", where.ids().toArray(Long[]::new));
+        }
+        if (!where.statuses().isEmpty()) {
+            query.setParameter("statuses", where.statuses().stream().map(Status::name).toArray(String[]::new));
+        }
+        if (where.dueAfter() != null) {
+            query.setParameter("dueAfter", where.dueAfter());
+        }
+        if (where.dueBefore() != null) {
+            query.setParameter("dueBefore", where.dueBefore());
+        }
+        if (after != null) {
+            query.setParameter("afterDueDate", after.dueDate());
+            query.setParameter("afterId", after.id());
+        }
+        return query;
+    }
+}
@@ -0,0 +1,116 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.data.domain.Sort;
+import uk.gov.hmcts.reform.dev.dto.TaskCount;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.Chunk;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.StatusChange;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Where tasks are kept. {@code tasks.store.engine} picks the engine: {@code jpa} (the default) keeps them in
+ * Postgres through {@link TaskRepository}, {@code memory} in the application's heap.
+ *
+ * <p>Tasks passed to {@link #save} and {@link #saveAll} must have been read from the store, unless they are new.
+ * Saving a task whose version has moved on since it was read fails with an
+ * {@link org.springframework.orm.ObjectOptimisticLockingFailureException}, on commit at the latest.
+ */
+public interface TaskStore {
+
+    Optional<Task> findById(long id);
+
+    /**
+     * Returns the tasks that exist among {@code ids}, in no particular order.
+     */
+    List<Task> findAllById(Collection<Long> ids);
+
+    boolean existsById(long id);
+
+    Optional<Long> findVersionById(long id);
+
+    /**
+     * Returns up to {@code limit} tasks matching {@code filter}, ordered by {@code (dueDate, id)} in
+     * {@code direction} and starting strictly after {@code after} when it is given.
+     */
+    List<Task> findPage(TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit);
+
+    /**
+     * Returns the same page as {@link #findPage}, with only the values of {@code fields} for each task.
+     */
+    List<Map<TaskField, Object>> findPageFields(
+        TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit, Set<TaskField> fields);
+
+    /**
+     * Hands every task to {@code sink} in id order, none of them tied to the store once handed over, and returns
+     * how many there were. The JPA engine must be called inside a transaction.
+     */
+    long exportAll(Consumer<Task> sink);
+
+    /**
+     * Inserts a task without an id, assigning one, or updates one read earlier.
+     */
+    Task save(Task task);
+
+    /**
+     * Saves several tasks together; either all of them are saved or, on a version conflict, none.
+     */
+    List<Task> saveAll(List<Task> tasks);
+
+    /**
+     * Sets the status and bumps the version without reading the task first. When {@code expectedVersion} is given
+     * the task is only changed if it still has that version. Returns empty when nothing was changed, either
+     * because the task doesn't exist or because its version has moved on.
+     */
+    Optional<StatusChange> updateStatus(long id, Status status, Long expectedVersion);
+
+    /**
+     * Sets a different status on each of many tasks, bumping their versions. Returns a change for each task that
+     * exists; ids with no task are left out.
+     */
+    List<StatusChange> updateStatuses(Map<Long, Status> statuses);
+
+    /**
+     * Sets {@code status} on up to {@code limit} tasks matching {@code where}, bumping their versions, without
+     * reading them first. Tasks are taken in {@code (dueDate, id)} order, starting strictly after {@code after}
+     * when it is given; returns the changes in that order, and where the chunk ended.
+     */
+    Chunk<StatusChange> updateStatusWhere(TaskPredicate where, TaskCursor after, int limit, Status status);
+
+    /**
+     * Deletes up to {@code limit} tasks matching {@code where}, taken as by {@link #updateStatusWhere}. Returns the
+     * deleted tasks in {@code (dueDate, id)} order.
+     */
+    Chunk<Task> deleteWhere(TaskPredicate where, TaskCursor after, int limit);
+
+    void delete(Task task);
+
+    /**
+     * Moves up to {@code limit} completed tasks due before {@code dueBefore} out of the live tasks into the archive,
+     * earliest due first, and returns them. Archived tasks are no longer listed, paged or changed, but can still be
+     * read with {@link #findArchivedById}.
+     */
+    List<Task> archiveCompleted(LocalDate dueBefore, int limit);
+
+    /**
+     * Reads an archived task. Finds nothing while archiving is disabled, when there may be no archive to read.
+     */
+    Optional<Task> findArchivedById(long id);
+
+    /**
+     * Counts tasks by status and due date, archived ones included while archiving is enabled, for seeding
+     * statistics.
+     */
+    List<TaskCount> countByStatusAndDueDate();
+}
@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.BulkOperationProperties;
+import uk.gov.hmcts.reform.dev.dto.BulkResult;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.Chunk;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Status changes and deletes of every task matching a predicate, as set-based statements rather than one request
+ * per task.
+ *
+ * <p>However many tasks match, they are changed {@code chunkSize} at a time in {@code (dueDate, id)} order, each
+ * chunk in its own {@link TaskService} transaction, so no transaction locks more than {@code chunkSize} rows or
+ * writes more than that many rows' WAL. The whole change is therefore not atomic: if a chunk fails, the chunks
+ * before it stay committed, and tasks that start matching during the change may or may not be included.
+ *
+ * <p>Each chunk starts after the last task the one before it read, whether or not that task was still there to
+ * change, so no task is passed over. A task whose due date moves later during the change may be met twice; it is
+ * only reported once.
+ */
+@Slf4j
+@Component
+public class BulkTaskUpdater {
+
+    private final TaskService taskService;
+    private final BulkOperationProperties properties;
+
+    public BulkTaskUpdater(TaskService taskService, BulkOperationProperties properties) {
+        this.taskService = taskService;
+        this.properties = properties;
+    }
+
+    public BulkResult updateStatus(TaskPredicate where, Status status) {
+        log.info("Updating status of tasks matching {} to {}", where, status);
+        return inChunks((after, limit) -> taskService.updateStatusChunk(where, status, after, limit));
+    }
+
+    public BulkResult delete(TaskPredicate where) {
+        log.info("Deleting tasks matching {}", where);
+        return inChunks((after, limit) -> taskService.deleteChunk(where, after, limit));
+    }
+
+    private BulkResult inChunks(BiFunction<TaskCursor, Integer, Chunk<Task>> next) {
+        int chunkSize = properties.chunkSize();
+        Set<Long> ids = new LinkedHashSet<>();
+        TaskCursor after = null;
+        Chunk<Task> chunk;
+        do {
+            chunk = next.apply(after, chunkSize);
+            for (Task task : chunk.changed()) {
+                ids.add(task.getId());
+            }
+            after = chunk.end();
+        } while (chunk.read() == chunkSize);
+        log.info("Changed {} tasks", ids.size());
+        return new BulkResult(ids.size(), new ArrayList<>(ids));
+    }
+}
@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.IdempotencyProperties;
+import uk.gov.hmcts.reform.dev.exceptions.IdempotencyKeyReusedException;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the task created for each {@code Idempotency-Key}, so a client that retries a create it never got an
+ * answer to is given the task it already created instead of a duplicate. Bounded by size and time since the
+ * create, like {@link TaskCache}; replays are counted as {@code cache.gets} hits with
+ * {@code cache=idempotency-keys}.
+ *
+ * <p>The first request with a key installs a pending entry and creates the task on its own thread; requests with
+ * the same key that arrive meanwhile wait for it and get the same result. If the create fails, nothing was
+ * created, so the entry is dropped and the waiting requests get the same failure; retrying the key creates the task
+ * afresh. A key reused for a different task is refused rather than answered with the wrong one.
+ *
+ * <p>Keys are remembered by this instance only: a retry answered by another instance creates the task again.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final AsyncCache<String, Created> cache;
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency-keys");
+    }
+
+    /**
+     * Returns the task already created with {@code key}, or calls {@code create} to make it if there is none.
+     *
+     * @throws IdempotencyKeyReusedException if {@code key} created a task that differs from {@code request}
+     */
+    public Outcome createOnce(String key, Task request, Supplier<Task> create) {
+        Fingerprint fingerprint = Fingerprint.of(request);
+        CompletableFuture<Created> pending = new CompletableFuture<>();
+        CompletableFuture<Created> future = cache.get(key, (k, executor) -> pending);
+        if (future == pending) {
+            try {
+                pending.complete(new Created(fingerprint, create.get().copy()));
+            } catch (RuntimeException | Error ex) {
+                // Failed futures are dropped from the cache, so the key can be retried.
+                pending.completeExceptionally(ex);
+                throw ex;
+            }
+            return new Outcome(pending.join().task(), false);
+        }
+
+        Created created = await(future);
+        if (!created.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different task: " + key);
+        }
+        return new Outcome(created.task(), true);
+    }
+
+    private static Created await(CompletableFuture<Created> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * The task created for a key, and whether it was created by an earlier request with that key.
+     */
+    public record Outcome(Task task, boolean replayed) {}
+
+    private record Created(Fingerprint fingerprint, Task task) {}
+
+    /**
+     * The fields a client sets when creating a task, to tell a retry from a different task under the same key.
+     */
+    private record Fingerprint(String title, String description, Status status, LocalDate dueDate) {
+
+        static Fingerprint of(Task task) {
+            return new Fingerprint(task.getTitle(), task.getDescription(), task.getStatus(), task.getDueDate());
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+import uk.gov.hmcts.reform.dev.events.TaskOverdueEvent;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repositories.TaskStore;
+import uk.gov.hmcts.reform.dev.services.TaskSeedGate.Changes;
+import uk.gov.hmcts.reform.dev.services.TaskSeedGate.Seed;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Open tasks kept in memory in {@code (dueDate, id)} order, so overdue tasks can be listed, and announced the
+ * moment they become overdue, without querying the database.
+ *
+ * <p>The index is seeded from the database at startup, before the application takes traffic, and from then on
+ * follows each committed {@link TaskChangedEvent}: completed and deleted tasks leave it, and any other change puts
+ * the task back in at its current due date. A task is overdue once its due date is before today. Just after each
+ * midnight a timer takes the tasks that have just passed their due date off the front of the index and publishes
+ * a {@link TaskOverdueEvent} for each; tasks created or moved with a due date already past are listed as overdue
+ * but not announced. Changes made to the table directly, bypassing {@code TaskService}, are not seen until
+ * {@link #refresh()} is called.
+ *
+ * <p>A refresh reads the open tasks through {@link TaskSeedGate}, and keeps applying changes while it does: those
+ * that what it read doesn't include are applied again on top of it, and changes from other nodes that it does
+ * include are skipped.
+ */
+@Slf4j
+@Component
+public class OverdueTaskScheduler implements SmartInitializingSingleton, SmartLifecycle {
+
+    private static final int SEED_PAGE_SIZE = 10_000;
+    private static final Set<TaskField> SEED_FIELDS = EnumSet.of(TaskField.ID, TaskField.STATUS, TaskField.DUE_DATE);
+    private static final Comparator<TaskCursor> ORDER =
+        Comparator.comparing(TaskCursor::dueDate).thenComparingLong(TaskCursor::id);
+
+    private final TaskStore taskStore;
+    private final TaskSeedGate seedGate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    private final ReentrantLock refreshing = new ReentrantLock();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final NavigableSet<TaskCursor> byDueDate = new TreeSet<>(ORDER);
+    private final Map<Long, Snapshot> openTasks = new HashMap<>();
+    private LocalDate announcedUpTo;
+    private TransactionSnapshot seededAt = TransactionSnapshot.NONE;
+    private Changes changedDuringRefresh;
+
+    private ScheduledExecutorService timer;
+    private volatile boolean running;
+
+    @Autowired
+    public OverdueTaskScheduler(TaskStore taskStore, TaskSeedGate seedGate, ApplicationEventPublisher eventPublisher) {
+        this(taskStore, seedGate, eventPublisher, Clock.systemDefaultZone());
+    }
+
+    OverdueTaskScheduler(TaskStore taskStore, TaskSeedGate seedGate, ApplicationEventPublisher eventPublisher,
+                         Clock clock) {
+        this.taskStore = taskStore;
+        this.seedGate = seedGate;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Discards the index and reloads it from the database, a page of open tasks at a time. The pages are read
+     * before taking the lock; one refresh runs at a time.
+     */
+    public void refresh() {
+        Seed<Map<Long, Snapshot>> seed;
+        refreshing.lock();
+        try {
+            seed = seedGate.read(this::startRefresh, this::loadOpenTasks);
+            lock.lock();
+            try {
+                byDueDate.clear();
+                openTasks.clear();
+                seed.value().forEach(this::add);
+                announcedUpTo = LocalDate.now(clock);
+                seededAt = seed.snapshot();
+                changedDuringRefresh.replay(seededAt, this::apply);
+                changedDuringRefresh = null;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            refreshing.unlock();
+        }
+        log.info("Seeded overdue task index with {} open tasks", seed.value().size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.lock();
+        try {
+            onChange(event, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies a change made by another node in transaction {@code transactionId}, unless the index was read after
+     * it.
+     */
+    public void onRemoteChange(TaskChangedEvent event, Long transactionId) {
+        lock.lock();
+        try {
+            if (!seededAt.covers(transactionId)) {
+                onChange(event, transactionId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} overdue tasks, earliest due first, starting strictly after
+     * {@code after} when it is given.
+     */
+    public List<TaskCursor> overdue(TaskCursor after, int limit) {
+        TaskCursor today = new TaskCursor(LocalDate.now(clock), Long.MIN_VALUE);
+        lock.lock();
+        try {
+            NavigableSet<TaskCursor> overdue = byDueDate.headSet(today, false);
+            if (after != null) {
+                overdue = overdue.tailSet(after, false);
+            }
+            List<TaskCursor> page = new ArrayList<>(Math.min(limit, overdue.size()));
+            for (TaskCursor task : overdue) {
+                if (page.size() == limit) {
+                    break;
+                }
+                page.add(task);
+            }
+            return page;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether a task in the given state is overdue today: not completed, and due before today.
+     */
+    public boolean isOverdue(Snapshot task) {
+        return task.status() != Status.COMPLETED && task.dueDate() != null
+            && task.dueDate().isBefore(LocalDate.now(clock));
+    }
+
+    /**
+     * Publishes a {@link TaskOverdueEvent} for each open task whose due date has passed since the last time this
+     * ran. The events are published after the lock is released.
+     */
+    void announceOverdue() {
+        LocalDate today = LocalDate.now(clock);
+        List<TaskOverdueEvent> events = new ArrayList<>();
+        lock.lock();
+        try {
+            if (!today.isAfter(announcedUpTo)) {
+                return;
+            }
+            NavigableSet<TaskCursor> passed = byDueDate.subSet(
+                new TaskCursor(announcedUpTo, Long.MIN_VALUE), true, new TaskCursor(today, Long.MIN_VALUE), false);
+            for (TaskCursor task : passed) {
+                events.add(new TaskOverdueEvent(task.id(), openTasks.get(task.id()).status(), task.dueDate()));
+            }
+            announcedUpTo = today;
+        } finally {
+            lock.unlock();
+        }
+        log.info("{} tasks became overdue on {}", events.size(), today);
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    @Override
+    public void start() {
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "overdue-tasks"));
+        running = true;
+        scheduleNext();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        timer.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void startRefresh() {
+        lock.lock();
+        try {
+            changedDuringRefresh = new Changes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<Long, Snapshot> loadOpenTasks() {
+        TaskFilter open = new TaskFilter(EnumSet.complementOf(EnumSet.of(Status.COMPLETED)), null, null);
+        Map<Long, Snapshot> loaded = new HashMap<>();
+        TaskCursor after = null;
+        List<Map<TaskField, Object>> page;
+        do {
+            page = taskStore.findPageFields(open, Sort.Direction.ASC, after, SEED_PAGE_SIZE, SEED_FIELDS);
+            for (Map<TaskField, Object> task : page) {
+                LocalDate dueDate = (LocalDate) task.get(TaskField.DUE_DATE);
+                Long id = (Long) task.get(TaskField.ID);
+                loaded.put(id, new Snapshot((Status) task.get(TaskField.STATUS), dueDate));
+                after = new TaskCursor(dueDate, id);
+            }
+        } while (page.size() == SEED_PAGE_SIZE);
+        return loaded;
+    }
+
+    private void onChange(TaskChangedEvent event, Long transactionId) {
+        apply(event);
+        if (changedDuringRefresh != null) {
+            changedDuringRefresh.add(event, transactionId);
+        }
+    }
+
+    private void apply(TaskChangedEvent event) {
+        Snapshot previous = openTasks.remove(event.taskId());
+        if (previous != null) {
+            byDueDate.remove(new TaskCursor(previous.dueDate(), event.taskId()));
+        }
+        Snapshot after = event.after();
+        if (after != null && after.status() != Status.COMPLETED) {
+            add(event.taskId(), after);
+        }
+    }
+
+    private void add(Long id, Snapshot task) {
+        openTasks.put(id, task);
+        byDueDate.add(new TaskCursor(task.dueDate(), id));
+    }
+
+    /**
+     * Runs {@link #announceOverdue()} just after the next midnight, then again after each one after that.
+     */
+    private void scheduleNext() {
+        long delay = Duration.between(clock.instant(),
+                                      LocalDate.now(clock).plusDays(1).atStartOfDay(clock.getZone())).toMillis();
+        try {
+            timer.schedule(() -> {
+                try {
+                    announceOverdue();
+                } catch (RuntimeException ex) {
+                    log.error("Failed to announce overdue tasks", ex);
+                } finally {
+                    scheduleNext();
+                }
+            }, delay + 1, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // Stopped.
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.StatusUpdateCoalescingProperties;
+import uk.gov.hmcts.reform.dev.dto.StatusUpdateDto;
+import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind for unconditional status updates, for clients that change the same task's status many times a
+ * second.
+ *
+ * <p>Each change is held for up to {@code window}, keyed by task id, with a later change to the same task replacing
+ * the earlier one. The buffer is then flushed by a single thread as one {@link TaskService#updateStatuses}
+ * transaction, and every caller waiting on a task gets the task as it was committed, which carries the latest
+ * status rather than necessarily the one they asked for. A flush starts early once {@code maxBatchSize} tasks are
+ * waiting.
+ *
+ * <p>Callers block until their change has committed, so a success response still means the change is durable.
+ * Updates made with an expected version skip the buffer: they must see the row as it is now. On shutdown this
+ * stops after the web server has drained its in-flight requests, flushing whatever is left; anything submitted
+ * after that is applied straight away.
+ */
+@Slf4j
+@Component
+public class StatusUpdateCoalescer implements SmartLifecycle {
+
+    private final TaskService taskService;
+    private final StatusUpdateCoalescingProperties properties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Long, PendingUpdate> pending = new LinkedHashMap<>();
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    public StatusUpdateCoalescer(TaskService taskService, StatusUpdateCoalescingProperties properties) {
+        this.taskService = taskService;
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Sets the status of a task and returns it once the change has been committed, as part of a batch when
+     * coalescing is running.
+     */
+    public Task updateStatus(Long id, Status status) {
+        CompletableFuture<Task> result = null;
+        boolean first = false;
+        boolean full = false;
+        lock.lock();
+        try {
+            if (running) {
+                PendingUpdate update = pending.computeIfAbsent(id, key -> new PendingUpdate());
+                update.status = status;
+                result = update.result;
+                first = pending.size() == 1;
+                full = pending.size() >= properties.maxBatchSize();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (result == null) {
+            return taskService.updateStatus(id, new StatusUpdateDto(status), null);
+        }
+
+        try {
+            if (full) {
+                flusher.execute(this::flush);
+            } else if (first) {
+                flusher.schedule(this::flush, properties.window().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (RejectedExecutionException ex) {
+            // Shutting down; the final flush picks this change up.
+        }
+        return await(result);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "task-status-flusher"));
+        running = true;
+        log.info("Coalescing status updates over {} windows, up to {} tasks per flush",
+                 properties.window(), properties.maxBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+        flusher.execute(this::flush);
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Timed out flushing buffered status updates");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server's graceful shutdown has let in-flight requests finish, since those may be
+     * waiting on a flush.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flush() {
+        Map<Long, PendingUpdate> batch;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        } finally {
+            lock.unlock();
+        }
+
+        Map<Long, Status> statuses = new HashMap<>();
+        batch.forEach((id, update) -> statuses.put(id, update.status));
+        try {
+            Map<Long, Task> updated = taskService.updateStatuses(statuses);
+            batch.forEach((id, update) -> {
+                Task task = updated.get(id);
+                if (task != null) {
+                    update.result.complete(task);
+                } else {
+                    update.result.completeExceptionally(new TaskNotFoundException("Task not found with id: " + id));
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.error("Failed to flush status updates for {} tasks", batch.size(), ex);
+            batch.values().forEach(update -> update.result.completeExceptionally(ex));
+        }
+    }
+
+    private static Task await(CompletableFuture<Task> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * The latest status asked for a task, and the result shared by everyone who asked. Guarded by {@code lock}.
+     */
+    private static final class PendingUpdate {
+
+        private final CompletableFuture<Task> result = new CompletableFuture<>();
+        private Status status;
+    }
+}
@@ -0,0 +1,115 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.TaskArchiveProperties;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves completed tasks out of the {@code task} table once their due date is more than {@code age} ago, so lists
+ * and indexes only carry tasks that are still being worked on. Archived tasks can still be read by id.
+ *
+ * <p>Every {@code interval} a single thread archives tasks {@code batchSize} at a time, one transaction per batch,
+ * pausing for {@code pause} between batches, until a batch comes back short. Rows a user is changing at that moment
+ * are skipped and picked up next time round, and instances running side by side skip each other's batches.
+ */
+@Slf4j
+@Component
+public class TaskArchiver implements SmartLifecycle {
+
+    private final TaskService taskService;
+    private final TaskArchiveProperties properties;
+    private final Clock clock;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    @Autowired
+    public TaskArchiver(TaskService taskService, TaskArchiveProperties properties) {
+        this(taskService, properties, Clock.systemDefaultZone());
+    }
+
+    TaskArchiver(TaskService taskService, TaskArchiveProperties properties, Clock clock) {
+        this.taskService = taskService;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Archives every completed task that is old enough, batch by batch, and returns how many there were. Stops
+     * early if the thread is interrupted.
+     */
+    public long archive() {
+        LocalDate dueBefore = LocalDate.now(clock).minus(properties.age());
+        long archived = 0;
+        while (true) {
+            int batch = taskService.archiveChunk(dueBefore, properties.batchSize()).size();
+            archived += batch;
+            if (batch < properties.batchSize()) {
+                break;
+            }
+            try {
+                Thread.sleep(properties.pause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} completed tasks due before {}", archived, dueBefore);
+        }
+        return archived;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "task-archiver"));
+        long interval = properties.interval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::archiveSafely, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Archiving completed tasks {} past their due date every {}, {} at a time",
+                 properties.age(), properties.interval(), properties.batchSize());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdownNow();
+        try {
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Timed out waiting for the task archiver to stop");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Keeps a failed run from cancelling the ones after it.
+     */
+    private void archiveSafely() {
+        try {
+            archive();
+        } catch (RuntimeException ex) {
+            log.error("Failed to archive completed tasks", ex);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uk.gov.hmcts.reform.dev.config.TaskCacheProperties;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of tasks by id, evicting on size and time since load. Hit, miss and eviction counts
+ * are published under the {@code cache.*} meters with {@code cache=tasks}.
+ *
+ * <p>Entries are evicted after every committed change. A load that is still in flight when that happens can't
+ * leave a stale entry behind: the eviction removes the pending entry, so whatever the load produces is handed to
+ * the callers already waiting for it but never cached. Cached tasks are shared between callers and must not be
+ * modified.
+ *
+ * <p>Loads run on the calling thread but outside Caffeine's per-key lock, which is a {@code synchronized} block.
+ * Holding it across a database call would pin a virtual thread to its carrier for the whole query; instead the lock
+ * is only held long enough to install a pending future, and concurrent callers for the same id wait on that.
+ */
+@Component
+public class TaskCache {
+
+    private final AsyncCache<Long, Task> cache;
+
+    public TaskCache(TaskCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks");
+    }
+
+    /**
+     * Returns the cached task for {@code id}, calling {@code loader} on a miss. Nothing is cached when the loader
+     * returns {@code null}.
+     */
+    public Task get(Long id, Function<Long, Task> loader) {
+        CompletableFuture<Task> pending = new CompletableFuture<>();
+        CompletableFuture<Task> future = cache.get(id, (key, executor) -> pending);
+        if (future == pending) {
+            try {
+                pending.complete(loader.apply(id));
+            } catch (RuntimeException | Error ex) {
+                pending.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the cached task for {@code id}, or {@code null} without loading or waiting for anything when it isn't
+     * cached or is still loading. Not counted as a hit or a miss.
+     */
+    public Task getIfPresent(Long id) {
+        CompletableFuture<Task> future = cache.asMap().get(id);
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    public void evict(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event.taskId());
+    }
+}
@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts committed task changes so that "has anything changed?" can be answered without touching the database.
+ *
+ * <p>The count only moves after commit, so a caller that reads the generation <em>before</em> querying can
+ * only ever label fresh data with an older generation, never the other way round. That costs at worst one extra
+ * full response, but can't hide a change. The random prefix stops generations from a previous run of the
+ * application being mistaken for current ones.
+ */
+@Component
+public class TaskChangeCounter {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong changes = new AtomicLong();
+
+    public String generation() {
+        return epoch + "-" + changes.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        advance();
+    }
+
+    /**
+     * Moves the generation on for a change this node wasn't told about by an event, such as one committed by
+     * another node.
+     */
+    public void advance() {
+        changes.incrementAndGet();
+    }
+}
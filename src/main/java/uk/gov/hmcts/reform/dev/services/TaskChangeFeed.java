@@ -0,0 +1,252 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.config.TaskChangeFeedProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskChange;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+import uk.gov.hmcts.reform.dev.events.TaskOverdueEvent;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streams committed task changes to clients as Server-Sent Events, so they can keep up without re-polling.
+ *
+ * <p>Every committed change is given the next offset and kept in a ring buffer of the most recent
+ * {@code bufferSize} changes. Each subscriber is a cursor into that buffer, served by its own virtual thread, so a
+ * slow client only holds up itself; the committing thread just appends. Each event's id is the offset prefixed
+ * with a random epoch, so a client reconnecting with {@code Last-Event-ID} picks up exactly where it left off. If
+ * it can't, because the application has restarted or the client fell more than {@code bufferSize} changes behind,
+ * it is sent a {@value #RESET_EVENT} event instead and should reload the tasks it cares about before carrying on.
+ * Tasks passing their due date are sent as changes of type {@code OVERDUE}, though nothing about them has changed.
+ */
+@Slf4j
+@Component
+public class TaskChangeFeed implements SmartLifecycle {
+
+    public static final String CHANGE_EVENT = "change";
+    public static final String RESET_EVENT = "reset";
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final TaskChangeFeedProperties properties;
+    private final TaskChange[] buffer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private long head;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    public TaskChangeFeed(TaskChangeFeedProperties properties) {
+        this.properties = properties;
+        this.buffer = new TaskChange[properties.bufferSize()];
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Snapshot after = event.after();
+        append(event.type(), event.taskId(), after == null ? null : after.status(),
+               after == null ? null : after.dueDate());
+    }
+
+    @EventListener
+    public void onTaskOverdue(TaskOverdueEvent event) {
+        append(ChangeType.OVERDUE, event.taskId(), event.status(), event.dueDate());
+    }
+
+    /**
+     * Opens a stream of changes, starting after {@code lastEventId} when it can still be resumed from and with
+     * only new changes otherwise.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        long position;
+        boolean reset;
+        lock.lock();
+        try {
+            Long resumeFrom = parseOffset(lastEventId);
+            reset = lastEventId != null && (resumeFrom == null || resumeFrom > head || isEvicted(resumeFrom));
+            position = reset || resumeFrom == null ? head : resumeFrom;
+        } finally {
+            lock.unlock();
+        }
+
+        Subscriber subscriber = new Subscriber(emitter, position, reset);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        Thread.ofVirtual().name("task-changes-" + position).start(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Returns the changes after {@code offset}, waiting up to {@code wait} for one if there are none yet. Returns
+     * {@code null} if changes after {@code offset} have already dropped out of the buffer.
+     */
+    List<TaskChange> changesAfter(long offset, Duration wait) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = wait.toNanos();
+            while (head == offset && nanos > 0 && running) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            if (isEvicted(offset)) {
+                return null;
+            }
+            List<TaskChange> changes = new ArrayList<>((int) (head - offset));
+            for (long next = offset + 1; next <= head; next++) {
+                changes.add(buffer[slot(next)]);
+            }
+            return changes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long head() {
+        lock.lock();
+        try {
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    String eventId(long offset) {
+        return epoch + "-" + offset;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Ends every open stream before the web server starts its graceful shutdown, which would otherwise wait for
+     * them to time out.
+     */
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void append(ChangeType type, Long taskId, Status status, LocalDate dueDate) {
+        lock.lock();
+        try {
+            head++;
+            buffer[slot(head)] = new TaskChange(head, type, taskId, status, dueDate);
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isEvicted(long offset) {
+        return offset < head - buffer.length;
+    }
+
+    private int slot(long offset) {
+        return (int) (offset % buffer.length);
+    }
+
+    private Long parseOffset(String eventId) {
+        if (eventId == null || !eventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            long offset = Long.parseLong(eventId.substring(epoch.length() + 1));
+            return offset < 0 ? null : offset;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private long position;
+        private boolean reset;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, long position, boolean reset) {
+            this.emitter = emitter;
+            this.position = position;
+            this.reset = reset;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed && running) {
+                    if (reset) {
+                        emitter.send(SseEmitter.event().name(RESET_EVENT).id(eventId(position)).data(position));
+                        reset = false;
+                    }
+                    List<TaskChange> changes = changesAfter(position, properties.heartbeat());
+                    if (changes == null) {
+                        log.info("Change feed subscriber fell behind at offset {}; sending a reset", position);
+                        position = head();
+                        reset = true;
+                        continue;
+                    }
+                    if (changes.isEmpty()) {
+                        // Keeps proxies from closing an idle stream, and finds out when the client has gone.
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    for (TaskChange change : changes) {
+                        emitter.send(SseEmitter.event()
+                                         .name(CHANGE_EVENT)
+                                         .id(eventId(change.offset()))
+                                         .data(change));
+                        position = change.offset();
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client has gone away, or the stream has already been completed.
+                log.debug("Change feed subscriber disconnected at offset {}", position);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                subscribers.remove(this);
+                if (!closed) {
+                    emitter.complete();
+                }
+            }
+        }
+
+        private void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.dev.config.CacheInvalidationProperties;
+import uk.gov.hmcts.reform.dev.config.PrimaryConnectionDetails;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Keeps the node-local {@link TaskCache}, {@link TaskChangeCounter}, {@link TaskStatistics} and
+ * {@link OverdueTaskScheduler} right when several replicas share one database, by passing each change, with its
+ * before and after snapshots, between nodes with Postgres {@code NOTIFY}.
+ *
+ * <p>The changes made in a transaction are sent on the {@value #CHANNEL} channel just before it commits, from the
+ * same connection. Postgres only delivers a notification once its transaction has committed, and drops it on
+ * rollback, so other nodes never apply a change early or for nothing, and delivers them in commit order. Each
+ * payload starts with the sending node's id, so a node can skip its own changes, which it has already applied,
+ * and the id of the transaction that made them.
+ *
+ * <p>Every node listens on a connection of its own, outside the pool, from a single background thread. When that
+ * connection is lost, notifications sent in the meantime are lost with it, so after (re)connecting the whole cache
+ * is flushed and the statistics and overdue index are reloaded. Notifications already queued by then may be for
+ * changes the reload read; those are told apart by their transaction id and skipped, through
+ * {@link TaskStatistics#onRemoteChange} and {@link OverdueTaskScheduler#onRemoteChange}. The change feed stays local
+ * to the node that made the change.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.cache.invalidation", name = "enabled", havingValue = "true")
+public class TaskInvalidationBus implements SmartLifecycle {
+
+    static final String CHANNEL = "task_changes";
+
+    // Postgres rejects payloads of 8000 bytes or more; changes are written in ASCII, so characters are bytes. The
+    // transaction id, at most 21 more, is added by the database.
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final TaskCache taskCache;
+    private final TaskChangeCounter changeCounter;
+    private final TaskStatistics statistics;
+    private final OverdueTaskScheduler overdueTasks;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcConnectionDetails connectionDetails;
+    private final CacheInvalidationProperties properties;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @Autowired
+    public TaskInvalidationBus(TaskCache taskCache, TaskChangeCounter changeCounter, TaskStatistics statistics,
+                               OverdueTaskScheduler overdueTasks, JdbcTemplate jdbcTemplate,
+                               ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                               DataSourceProperties dataSourceProperties, CacheInvalidationProperties properties) {
+        this(taskCache, changeCounter, statistics, overdueTasks, jdbcTemplate,
+             PrimaryConnectionDetails.resolve(connectionDetails, dataSourceProperties), properties);
+    }
+
+    TaskInvalidationBus(TaskCache taskCache, TaskChangeCounter changeCounter, TaskStatistics statistics,
+                        OverdueTaskScheduler overdueTasks, JdbcTemplate jdbcTemplate,
+                        JdbcConnectionDetails connectionDetails, CacheInvalidationProperties properties) {
+        this.taskCache = taskCache;
+        this.changeCounter = changeCounter;
+        this.statistics = statistics;
+        this.overdueTasks = overdueTasks;
+        this.jdbcTemplate = jdbcTemplate;
+        this.connectionDetails = connectionDetails;
+        this.properties = properties;
+    }
+
+    /**
+     * Collects the changes made by the current transaction, to be sent together just before it commits. Outside a
+     * transaction the change is sent straight away.
+     */
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            notifyChanged(List.of(event));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(event);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("task-cache-invalidation").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    void notifyChanged(List<TaskChangedEvent> changes) {
+        for (String payload : payloads(nodeId, changes.stream().map(TaskInvalidationBus::encode).toList())) {
+            // Sent from the transaction that made the changes, which is the one whose id goes after the node id.
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ? || '@' || pg_current_xact_id()::text || ?)",
+                                      CHANNEL, nodeId, payload.substring(nodeId.length()));
+        }
+    }
+
+    /**
+     * Splits {@code changes} over as few payloads as fit within Postgres's limit, each prefixed with the node id, to
+     * which {@link #notifyChanged} adds {@code @} and the transaction id.
+     */
+    static List<String> payloads(String nodeId, List<String> changes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId).append(':');
+        int empty = payload.length();
+        for (String next : changes) {
+            if (payload.length() + next.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload.setLength(empty);
+            }
+            if (payload.length() > empty) {
+                payload.append(',');
+            }
+            payload.append(next);
+        }
+        if (payload.length() > empty) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Writes a change as {@code id|type|before|after}, each snapshot as {@code STATUS@dueDate} or empty for none.
+     */
+    static String encode(TaskChangedEvent event) {
+        return event.taskId() + "|" + event.type() + "|" + encode(event.before()) + "|" + encode(event.after());
+    }
+
+    /**
+     * Applies the changes in a notification sent by another node: evicts the tasks and moves the statistics and
+     * overdue index on. A change that is just an id, as sent by a node running an older version, is only evicted,
+     * and one sent without a transaction id is always applied.
+     */
+    void apply(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        String sender = payload.substring(0, separator);
+        int at = sender.indexOf('@');
+        if (nodeId.equals(at < 0 ? sender : sender.substring(0, at))) {
+            return;
+        }
+        Long transactionId;
+        try {
+            transactionId = at < 0 ? null : Long.valueOf(sender.substring(at + 1));
+        } catch (NumberFormatException ex) {
+            log.warn("Ignoring malformed sender {} in cache invalidation", sender);
+            transactionId = null;
+        }
+        for (String change : payload.substring(separator + 1).split(",")) {
+            try {
+                String[] fields = change.split("\\|", -1);
+                Long id = Long.valueOf(fields[0]);
+                taskCache.evict(id);
+                if (fields.length == 4) {
+                    TaskChangedEvent event = new TaskChangedEvent(
+                        ChangeType.valueOf(fields[1]), id, decode(fields[2]), decode(fields[3]));
+                    statistics.onRemoteChange(event, transactionId);
+                    overdueTasks.onRemoteChange(event, transactionId);
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException ex) {
+                log.warn("Ignoring malformed change {} in cache invalidation", change);
+            }
+        }
+        changeCounter.advance();
+    }
+
+    private static String encode(Snapshot snapshot) {
+        if (snapshot == null) {
+            return "";
+        }
+        return snapshot.status() + "@" + (snapshot.dueDate() == null ? "" : snapshot.dueDate().toString());
+    }
+
+    private static Snapshot decode(String snapshot) {
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        int at = snapshot.indexOf('@');
+        String dueDate = snapshot.substring(at + 1);
+        return new Snapshot(Status.valueOf(snapshot.substring(0, at)),
+                            dueDate.isEmpty() ? null : LocalDate.parse(dueDate));
+    }
+
+    private void listen() {
+        Duration delay = properties.reconnectDelay();
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Anything sent while this node wasn't listening has been missed. Whatever has been sent since LISTEN
+                // is received after the reload, which skips what it has already read.
+                taskCache.evictAll();
+                changeCounter.advance();
+                statistics.refresh();
+                overdueTasks.refresh();
+                log.info("Listening for task cache invalidations on {}", CHANNEL);
+                delay = properties.reconnectDelay();
+                receive(connection);
+            } catch (SQLException | DataAccessException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost the task cache invalidation listener; reconnecting in {}", delay, ex);
+                if (!sleep(delay)) {
+                    return;
+                }
+                Duration doubled = delay.multipliedBy(2);
+                delay = doubled.compareTo(properties.maxReconnectDelay()) > 0
+                    ? properties.maxReconnectDelay()
+                    : doubled;
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection notifications = connection.unwrap(PGConnection.class);
+        long idleSince = System.nanoTime();
+        while (running) {
+            PGNotification[] received = notifications.getNotifications(1000);
+            if (received != null && received.length > 0) {
+                for (PGNotification notification : received) {
+                    apply(notification.getParameter());
+                }
+                idleSince = System.nanoTime();
+            } else if (System.nanoTime() - idleSince > properties.idleCheckInterval().toNanos()) {
+                // A connection that died quietly would otherwise just look like a quiet channel.
+                if (!connection.isValid(5)) {
+                    throw new SQLException("Task cache invalidation connection is no longer valid");
+                }
+                idleSince = System.nanoTime();
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties info = new Properties();
+        info.setProperty("user", connectionDetails.getUsername());
+        if (connectionDetails.getPassword() != null) {
+            info.setProperty("password", connectionDetails.getPassword());
+        }
+        info.setProperty("tcpKeepAlive", "true");
+        info.setProperty("ApplicationName", "task-cache-invalidation");
+        return DriverManager.getConnection(connectionDetails.getJdbcUrl(), info);
+    }
+
+    private static boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * The changes made by one transaction, in order, sent when it is about to commit.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<TaskChangedEvent> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            notifyChanged(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(TaskInvalidationBus.this);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.ReadRouting;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Lets {@link TaskStatistics} and {@link OverdueTaskScheduler} reload from the database while tasks keep changing,
+ * without applying a change twice or losing one.
+ *
+ * <p>A reload reads in one repeatable-read transaction on the primary, so all it reads is as of one snapshot. That
+ * snapshot is taken while no change made on this node is part-way between committing and being applied: each
+ * transaction that changes a task holds this gate, shared, from just before it commits until its after-commit
+ * listeners have run, and the snapshot is taken with the gate held exclusively. So the local changes applied
+ * before the reload is told it has {@code started} are all in what it reads, and those applied after are not, and
+ * are kept in {@link Changes} to be applied again on top of it.
+ *
+ * <p>Changes from other nodes carry the id of the transaction that made them, and are checked against the
+ * {@link TransactionSnapshot} the reload was read at. Without a database there is no snapshot, and the in-memory
+ * store is only read at startup.
+ */
+@Component
+public class TaskSeedGate {
+
+    private final ReentrantReadWriteLock commits = new ReentrantReadWriteLock();
+    private final TransactionOperations transactions;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TaskSeedGate(PlatformTransactionManager transactionManager, ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        this(seedTransactions(transactionManager), jdbcTemplate.getIfAvailable());
+    }
+
+    /**
+     * Reads through {@code transactions}, and takes the snapshot with {@code jdbcTemplate} unless it is
+     * {@code null}.
+     */
+    public TaskSeedGate(TransactionOperations transactions, JdbcTemplate jdbcTemplate) {
+        this.transactions = transactions;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Holds the gate over the commit of the transaction publishing {@code event}, once per transaction.
+     */
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+            || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        Commit commit = new Commit();
+        TransactionSynchronizationManager.bindResource(this, commit);
+        TransactionSynchronizationManager.registerSynchronization(commit);
+    }
+
+    /**
+     * Runs {@code read} against one snapshot of the primary, calling {@code started} at the moment the snapshot is
+     * taken. Must not be called from a transaction that has changed a task.
+     */
+    <T> Seed<T> read(Runnable started, Supplier<T> read) {
+        return ReadRouting.onPrimary(() -> transactions.execute(status -> {
+            if (jdbcTemplate != null) {
+                // Takes the connection and begins the transaction without taking its snapshot, so the gate is never
+                // held while waiting on the pool.
+                jdbcTemplate.queryForObject("SHOW transaction_isolation", String.class);
+            }
+            TransactionSnapshot snapshot;
+            commits.writeLock().lock();
+            try {
+                snapshot = jdbcTemplate == null
+                    ? TransactionSnapshot.NONE
+                    : TransactionSnapshot.parse(
+                        jdbcTemplate.queryForObject("SELECT pg_current_snapshot()::text", String.class));
+                started.run();
+            } finally {
+                commits.writeLock().unlock();
+            }
+            return new Seed<>(read.get(), snapshot);
+        }));
+    }
+
+    private static TransactionOperations seedTransactions(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * What a reload read, and the snapshot it was read at.
+     */
+    record Seed<T>(T value, TransactionSnapshot snapshot) {}
+
+    /**
+     * The changes applied while a reload was reading, each with the transaction that made it when it came from
+     * another node, to be applied again on top of what the reload read unless it already saw them.
+     */
+    static final class Changes {
+
+        private final List<Change> changes = new ArrayList<>();
+
+        void add(TaskChangedEvent event, Long transactionId) {
+            changes.add(new Change(event, transactionId));
+        }
+
+        void replay(TransactionSnapshot seen, Consumer<TaskChangedEvent> apply) {
+            for (Change change : changes) {
+                if (!seen.covers(change.transactionId())) {
+                    apply.accept(change.event());
+                }
+            }
+        }
+
+        private record Change(TaskChangedEvent event, Long transactionId) {}
+    }
+
+    /**
+     * Holds the gate, shared, from just before the transaction commits until its after-commit listeners have run.
+     */
+    private final class Commit implements TransactionSynchronization {
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commits.readLock().lock();
+            // After-commit listeners run in their own synchronizations' afterCompletion, in order; one registered
+            // now, with the lowest precedence, comes after all of them.
+            TransactionSynchronizationManager.registerSynchronization(new Release());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(TaskSeedGate.this);
+        }
+    }
+
+    private final class Release implements TransactionSynchronization {
+
+        @Override
+        public void afterCompletion(int status) {
+            commits.readLock().unlock();
+        }
+    }
+}
@@ -1,87 +1,459 @@
 package uk.gov.hmcts.reform.dev.services;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.config.ReadRouting;
+import uk.gov.hmcts.reform.dev.dto.BatchItemResult;
+import uk.gov.hmcts.reform.dev.dto.BatchItemResult.Outcome;
+import uk.gov.hmcts.reform.dev.dto.BatchResult;
+import uk.gov.hmcts.reform.dev.dto.PartialTaskPage;
 import uk.gov.hmcts.reform.dev.dto.StatusUpdateDto;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
 import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.exceptions.TaskVersionConflictException;
+import uk.gov.hmcts.reform.dev.models.Status;
 import uk.gov.hmcts.reform.dev.models.Task;
-import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.Chunk;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.StatusChange;
+import uk.gov.hmcts.reform.dev.repositories.TaskStore;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @AllArgsConstructor
 @Service
 public class TaskService {
 
-    private final TaskRepository taskRepository;
+    private final TaskStore taskStore;
+    private final Validator validator;
+    private final TaskCache taskCache;
+    private final TaskChangeCounter changeCounter;
+    private final TaskStatistics statistics;
+    private final OverdueTaskScheduler overdueTasks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
-    public List<Task> getAllTasks() {
-        log.info("Fetching all tasks");
-        return taskRepository.findAll();
+    @Transactional(readOnly = true)
+    public TaskPage getTasks(TaskFilter filter, Sort.Direction direction, String cursor, int limit) {
+        log.info("Fetching up to {} tasks matching {} in {} order", limit, filter, direction);
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+
+        // Ask for one extra row so we know whether there is a next page without a separate count query.
+        List<Task> tasks = taskStore.findPage(filter, direction, after, limit + 1);
+        if (tasks.size() <= limit) {
+            return new TaskPage(tasks, null);
+        }
+
+        List<Task> page = tasks.subList(0, limit);
+        return new TaskPage(page, TaskCursor.after(page.getLast()).encode());
+    }
+
+    /**
+     * Returns the same page as {@link #getTasks}, but with only {@code fields} read for each task. The id and due
+     * date are also read, to make the next cursor, but left out of the page unless asked for.
+     */
+    @Transactional(readOnly = true)
+    public PartialTaskPage getTaskFields(TaskFilter filter, Sort.Direction direction, String cursor, int limit,
+                                         Set<TaskField> fields) {
+        log.info("Fetching {} of up to {} tasks matching {} in {} order", fields, limit, filter, direction);
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+
+        Set<TaskField> read = EnumSet.of(TaskField.ID, TaskField.DUE_DATE);
+        read.addAll(fields);
+        List<Map<TaskField, Object>> rows = taskStore.findPageFields(filter, direction, after, limit + 1, read);
+        List<Map<String, Object>> page = new ArrayList<>(Math.min(rows.size(), limit));
+        for (Map<TaskField, Object> row : rows.subList(0, Math.min(rows.size(), limit))) {
+            Map<String, Object> task = new LinkedHashMap<>();
+            for (TaskField field : fields) {
+                task.put(field.property(), row.get(field));
+            }
+            page.add(task);
+        }
+        if (rows.size() <= limit) {
+            return new PartialTaskPage(page, null);
+        }
+
+        Map<TaskField, Object> last = rows.get(limit - 1);
+        TaskCursor next = new TaskCursor((LocalDate) last.get(TaskField.DUE_DATE), (Long) last.get(TaskField.ID));
+        return new PartialTaskPage(page, next.encode());
+    }
+
+    /**
+     * Hands every task to {@code sink} one at a time, without the store keeping hold of them however large it is.
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<Task> sink) {
+        log.info("Exporting all tasks");
+        long exported = taskStore.exportAll(sink);
+        log.info("Exported {} tasks", exported);
+    }
+
+    /**
+     * Identifies the current state of the whole task collection. It changes after every committed mutation made
+     * through this service, so read it before querying to label the results.
+     */
+    public String getCollectionGeneration() {
+        return changeCounter.generation();
+    }
+
+    /**
+     * Returns counts of tasks by status and of overdue tasks from memory, without querying the database.
+     */
+    public TaskStats getStats() {
+        return statistics.current();
+    }
+
+    /**
+     * Returns a page of overdue tasks, earliest due first, found from {@link OverdueTaskScheduler}'s index and then
+     * loaded by id. Loaded from the primary, which the index follows, rather than a replica that may lag behind it.
+     * The loaded tasks are checked again, so one the index is behind on, such as a task completed a moment ago on
+     * another node, is left out rather than listed as overdue.
+     */
+    public TaskPage getOverdueTasks(String cursor, int limit) {
+        log.info("Fetching up to {} overdue tasks", limit);
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+
+        List<TaskCursor> overdue = overdueTasks.overdue(after, limit + 1);
+        List<TaskCursor> page = overdue.subList(0, Math.min(overdue.size(), limit));
+        if (page.isEmpty()) {
+            return new TaskPage(List.of(), null);
+        }
+        List<Long> ids = page.stream().map(TaskCursor::id).toList();
+        Map<Long, Task> loaded = ReadRouting.onPrimary(() -> taskStore.findAllById(ids)).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        // A task deleted since the index was read is left out rather than failing the page.
+        List<Task> tasks = ids.stream().map(loaded::get).filter(Objects::nonNull)
+            .filter(task -> overdueTasks.isOverdue(Snapshot.of(task)))
+            .toList();
+        return new TaskPage(tasks, overdue.size() > limit ? page.getLast().encode() : null);
+    }
+
+    /**
+     * Returns the current version of a task without loading it, from the cache when possible.
+     */
+    public Optional<Long> getTaskVersion(Long id) {
+        Task cached = taskCache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached.getVersion());
+        }
+        return ReadRouting.onPrimary(
+            () -> taskStore.findVersionById(id).or(() -> taskStore.findArchivedById(id).map(Task::getVersion)));
     }
 
+    /**
+     * Reads through {@link TaskCache}, falling back to the archive for tasks that are no longer live. The returned
+     * task may be shared with other callers and must not be modified.
+     */
     public Task getTaskById(Long id) {
         log.info("Fetching task with id: {}", id);
-        return taskRepository.findById(id)
-            .orElseThrow(() -> {
-                log.warn("Task not found with id: {}", id);
-                return new TaskNotFoundException("Task not found with id: " + id);
-            });
+        // Loaded from the primary: a lagging replica could put a version back into the cache that is already gone.
+        Task task = taskCache.get(id, key -> ReadRouting.onPrimary(
+            () -> taskStore.findById(key).or(() -> taskStore.findArchivedById(key)).map(Task::copy).orElse(null)));
+        if (task == null) {
+            log.warn("Task not found with id: {}", id);
+            throw notFound("get", id);
+        }
+        return task;
     }
 
+    /**
+     * Replaces the editable fields of a task. When {@code expectedVersion} is given the update is refused unless
+     * the task is still at that version; concurrent writers are caught by the version check on flush either way.
+     */
     @Transactional
-    public Task updateTask(Long id, Task updatedData) {
+    public Task updateTask(Long id, Task updatedData, Long expectedVersion) {
         log.info("Updating task with id: {}", id);
-        return taskRepository.findById(id)
+        return taskStore.findById(id)
             .map(task -> {
-                task.setTitle(updatedData.getTitle());
-                task.setDescription(updatedData.getDescription());
-                task.setStatus(updatedData.getStatus());
-                task.setDueDate(updatedData.getDueDate());
-                Task savedTask = taskRepository.save(task);
+                if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                    log.warn("Refusing to update task with id: {} at version {}, expected {}",
+                             id, task.getVersion(), expectedVersion);
+                    throw versionConflict(id);
+                }
+                Snapshot before = Snapshot.of(task);
+                copyEditableFields(updatedData, task);
+                Task savedTask = taskStore.save(task);
+                publish(ChangeType.UPDATED, id, before, Snapshot.of(savedTask));
                 log.info("Successfully updated task with id: {}", id);
                 return savedTask;
             })
             .orElseThrow(() -> {
                 log.warn("Attempted to update task but not found with id: {}", id);
-                return new TaskNotFoundException("Task not found with id: " + id);
+                return notFound("update", id);
             });
     }
 
+    /**
+     * Changes the status with one conditional {@code UPDATE ... RETURNING}, without loading the task first. Only
+     * when nothing was updated is a second query made, to tell a missing task from a version conflict.
+     */
     @Transactional
-    public Task updateStatus(Long id, StatusUpdateDto statusDto) {
+    public Task updateStatus(Long id, StatusUpdateDto statusDto, Long expectedVersion) {
         log.info("Updating status of task with id: {} to {}", id, statusDto.status());
-        Task taskToUpdate = taskRepository.findById(id)
+        StatusChange change = taskStore.updateStatus(id, statusDto.status(), expectedVersion)
             .orElseThrow(() -> {
+                if (expectedVersion != null && taskStore.existsById(id)) {
+                    log.warn("Refusing to update status of task with id: {}, expected version {}",
+                             id, expectedVersion);
+                    return versionConflict(id);
+                }
                 log.warn("Attempted to update task status but not found with id: {}", id);
-                return new TaskNotFoundException("Task not found with id: " + id);
+                return notFound("updateStatus", id);
             });
 
-        taskToUpdate.setStatus(statusDto.status());
-        Task updated = taskRepository.save(taskToUpdate);
+        Task updated = change.task();
+        publish(ChangeType.STATUS_CHANGED, id,
+                new Snapshot(change.previousStatus(), updated.getDueDate()), Snapshot.of(updated));
         log.info("Successfully updated status of task with id: {}", id);
         return updated;
     }
 
+    /**
+     * Applies the status changes gathered by {@link StatusUpdateCoalescer} in one {@code UPDATE}. Unconditional,
+     * like {@link #updateStatus} without an expected version. Returns the updated tasks by id; ids with no task are
+     * left out.
+     */
+    @Transactional
+    public Map<Long, Task> updateStatuses(Map<Long, Status> statuses) {
+        log.info("Updating status of {} tasks", statuses.size());
+        Map<Long, Task> updated = new HashMap<>();
+        for (StatusChange change : taskStore.updateStatuses(statuses)) {
+            Task task = change.task();
+            updated.put(task.getId(), task);
+            publish(ChangeType.STATUS_CHANGED, task.getId(),
+                    new Snapshot(change.previousStatus(), task.getDueDate()), Snapshot.of(task));
+        }
+        for (Long id : statuses.keySet()) {
+            if (!updated.containsKey(id)) {
+                log.warn("Attempted to update task status but not found with id: {}", id);
+                countNotFound("updateStatus");
+            }
+        }
+        log.info("Updated status of {} tasks", updated.size());
+        return updated;
+    }
+
+    /**
+     * Sets {@code status} on the next {@code limit} tasks matching {@code where} after {@code after}, in one
+     * {@code UPDATE}, and returns them in {@code (dueDate, id)} order with where the chunk ended.
+     * {@link BulkTaskUpdater} calls this once per chunk, so each chunk commits on its own.
+     */
+    @Transactional
+    public Chunk<Task> updateStatusChunk(TaskPredicate where, Status status, TaskCursor after, int limit) {
+        Chunk<StatusChange> chunk = taskStore.updateStatusWhere(where, after, limit, status);
+        List<Task> updated = new ArrayList<>();
+        for (StatusChange change : chunk.changed()) {
+            Task task = change.task();
+            updated.add(task);
+            publish(ChangeType.STATUS_CHANGED, task.getId(),
+                    new Snapshot(change.previousStatus(), task.getDueDate()), Snapshot.of(task));
+        }
+        log.info("Updated status of {} tasks matching {} to {}", updated.size(), where, status);
+        return new Chunk<>(updated, chunk.read(), chunk.end());
+    }
+
+    /**
+     * Deletes the next {@code limit} tasks matching {@code where} after {@code after}, in one {@code DELETE}, and
+     * returns them in {@code (dueDate, id)} order with where the chunk ended. Called once per chunk, like
+     * {@link #updateStatusChunk}.
+     */
+    @Transactional
+    public Chunk<Task> deleteChunk(TaskPredicate where, TaskCursor after, int limit) {
+        Chunk<Task> chunk = taskStore.deleteWhere(where, after, limit);
+        for (Task task : chunk.changed()) {
+            publish(ChangeType.DELETED, task.getId(), Snapshot.of(task), null);
+        }
+        log.info("Deleted {} tasks matching {}", chunk.changed().size(), where);
+        return chunk;
+    }
+
+    /**
+     * Moves the next {@code limit} completed tasks due before {@code dueBefore} into the archive, in one statement,
+     * and returns them. {@link TaskArchiver} calls this once per batch, so each batch commits on its own.
+     */
+    @Transactional
+    public List<Task> archiveChunk(LocalDate dueBefore, int limit) {
+        List<Task> archived = taskStore.archiveCompleted(dueBefore, limit);
+        for (Task task : archived) {
+            Snapshot snapshot = Snapshot.of(task);
+            publish(ChangeType.ARCHIVED, task.getId(), snapshot, snapshot);
+        }
+        log.info("Archived {} completed tasks due before {}", archived.size(), dueBefore);
+        return archived;
+    }
+
     @Transactional
     public void deleteTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        Task task = taskStore.findById(id)
             .orElseThrow(() -> {
                 log.warn("Attempted to delete task but not found with id: {}", id);
-                return new TaskNotFoundException("Task not found with id: " + id);
+                return notFound("delete", id);
             });
 
         log.info("Deleting task with id: {}", id);
-        taskRepository.delete(task);
+        taskStore.delete(task);
+        publish(ChangeType.DELETED, id, Snapshot.of(task), null);
     }
 
     @Transactional
     public Task addTask(Task task) {
         log.info("Adding new task with title: {}", task.getTitle());
-        return taskRepository.save(task);
+        // Ids and versions are always generated; never let a create overwrite an existing row.
+        task.setId(null);
+        task.setVersion(null);
+        Task saved = taskStore.save(task);
+        publish(ChangeType.CREATED, saved.getId(), null, Snapshot.of(saved));
+        return saved;
+    }
+
+    /**
+     * Validates each task on its own and inserts the valid ones together, so the inserts go out as JDBC batches
+     * and their ids come from the pooled sequence allocator. Invalid items are reported rather than failing the
+     * whole request.
+     */
+    @Transactional
+    public BatchResult addTasks(List<Task> tasks) {
+        log.info("Adding batch of {} tasks", tasks.size());
+        BatchItemResult[] results = new BatchItemResult[tasks.size()];
+        List<Task> toSave = new ArrayList<>(tasks.size());
+        List<Integer> savedIndexes = new ArrayList<>(tasks.size());
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            List<String> errors = validate(task);
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.invalid(i, null, errors);
+                continue;
+            }
+            task.setId(null);
+            task.setVersion(null);
+            toSave.add(task);
+            savedIndexes.add(i);
+        }
+
+        List<Task> saved = taskStore.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = savedIndexes.get(i);
+            Task task = saved.get(i);
+            results[index] = BatchItemResult.applied(index, task.getId(), Outcome.CREATED);
+            publish(ChangeType.CREATED, task.getId(), null, Snapshot.of(task));
+        }
+
+        BatchResult result = BatchResult.of(Arrays.asList(results));
+        log.info("Added {} tasks, rejected {}", result.applied(), result.rejected());
+        return result;
+    }
+
+    /**
+     * Loads every referenced task with a single query, applies the changes and saves the changed tasks together.
+     * With JPA the loaded tasks are managed entities, so Hibernate flushes them as batched UPDATEs on commit.
+     */
+    @Transactional
+    public BatchResult updateTasks(List<Task> tasks) {
+        log.info("Updating batch of {} tasks", tasks.size());
+        List<Long> ids = tasks.stream()
+            .filter(Objects::nonNull)
+            .map(Task::getId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        Map<Long, Task> existing = taskStore.findAllById(ids).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<BatchItemResult> results = new ArrayList<>(tasks.size());
+        List<Task> changed = new ArrayList<>(existing.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            Long id = task == null ? null : task.getId();
+            List<String> errors = validate(task);
+            if (id == null) {
+                errors = new ArrayList<>(errors);
+                errors.add("id: must not be null");
+            }
+            if (!errors.isEmpty()) {
+                results.add(BatchItemResult.invalid(i, id, errors));
+            } else if (!existing.containsKey(id)) {
+                results.add(BatchItemResult.notFound(i, id));
+            } else if (task.getVersion() != null && !task.getVersion().equals(existing.get(id).getVersion())) {
+                results.add(BatchItemResult.conflict(i, id));
+            } else {
+                Task target = existing.get(id);
+                Snapshot before = Snapshot.of(target);
+                copyEditableFields(task, target);
+                changed.add(target);
+                results.add(BatchItemResult.applied(i, id, Outcome.UPDATED));
+                publish(ChangeType.UPDATED, id, before, Snapshot.of(target));
+            }
+        }
+
+        taskStore.saveAll(changed);
+
+        BatchResult result = BatchResult.of(results);
+        log.info("Updated {} tasks, rejected {}", result.applied(), result.rejected());
+        return result;
+    }
+
+    /**
+     * Counts the miss under {@code tasks.not.found}, tagged with the operation, and returns the exception to throw.
+     */
+    private TaskNotFoundException notFound(String operation, Long id) {
+        countNotFound(operation);
+        return new TaskNotFoundException("Task not found with id: " + id);
+    }
+
+    private void countNotFound(String operation) {
+        meterRegistry.counter("tasks.not.found", "operation", operation).increment();
     }
 
+    private static TaskVersionConflictException versionConflict(Long id) {
+        return new TaskVersionConflictException("Task has been modified since it was read with id: " + id);
+    }
+
+    private void publish(ChangeType type, Long id, Snapshot before, Snapshot after) {
+        eventPublisher.publishEvent(new TaskChangedEvent(type, id, before, after));
+    }
+
+    private List<String> validate(Task task) {
+        if (task == null) {
+            return List.of("task: must not be null");
+        }
+        return validator.validate(task).stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .toList();
+    }
+
+    private static void copyEditableFields(Task source, Task target) {
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        target.setStatus(source.getStatus());
+        target.setDueDate(source.getDueDate());
+    }
 }
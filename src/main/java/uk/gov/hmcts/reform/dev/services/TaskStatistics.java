@@ -0,0 +1,192 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uk.gov.hmcts.reform.dev.dto.TaskCount;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repositories.TaskStore;
+import uk.gov.hmcts.reform.dev.services.TaskSeedGate.Changes;
+import uk.gov.hmcts.reform.dev.services.TaskSeedGate.Seed;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Task counts kept in memory, so reading them never touches the database.
+ *
+ * <p>The counts are seeded from one grouped query at startup, before the application takes traffic, and from then
+ * on adjusted by the before and after snapshots of each committed {@link TaskChangedEvent}. Open tasks that are
+ * not yet overdue are counted per due date, so when the day changes the ones that have just become overdue can be
+ * moved across without going back to the database. Changes made to the table directly, bypassing
+ * {@code TaskService}, are not seen until {@link #refresh()} is called.
+ *
+ * <p>A refresh reads the counts through {@link TaskSeedGate}, and keeps applying changes while it does: those
+ * that the counts it read don't include are applied again on top of them, and changes from other nodes that they
+ * do include are skipped.
+ *
+ * <p>Writers are serialised on this object; readers only take the lock on the first read after midnight.
+ */
+@Slf4j
+@Component
+public class TaskStatistics implements SmartInitializingSingleton {
+
+    private final TaskStore taskStore;
+    private final TaskSeedGate seedGate;
+    private final Clock clock;
+    private final ReentrantLock refreshing = new ReentrantLock();
+
+    private final Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+    private final NavigableMap<LocalDate, Long> openByDueDate = new TreeMap<>();
+    private long overdue;
+    private long total;
+    private LocalDate today;
+    private TransactionSnapshot seededAt = TransactionSnapshot.NONE;
+    private Changes changedDuringRefresh;
+
+    private volatile TaskStats current;
+
+    @Autowired
+    public TaskStatistics(TaskStore taskStore, TaskSeedGate seedGate) {
+        this(taskStore, seedGate, Clock.systemDefaultZone());
+    }
+
+    TaskStatistics(TaskStore taskStore, TaskSeedGate seedGate, Clock clock) {
+        this.taskStore = taskStore;
+        this.seedGate = seedGate;
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Returns the current counts. Constant time; only rolls the overdue count over when the day has changed.
+     */
+    public TaskStats current() {
+        TaskStats stats = current;
+        if (stats.asOf().equals(LocalDate.now(clock))) {
+            return stats;
+        }
+        synchronized (this) {
+            rollOver();
+            return current;
+        }
+    }
+
+    /**
+     * Discards the counts and recalculates them from the database. The query runs before taking the lock, so a
+     * virtual thread never waits on the database while holding a monitor; one refresh runs at a time.
+     */
+    public void refresh() {
+        refreshing.lock();
+        try {
+            reset(seedGate.read(this::startRefresh, taskStore::countByStatusAndDueDate));
+        } finally {
+            refreshing.unlock();
+        }
+        log.info("Seeded task statistics: {}", current);
+    }
+
+    private synchronized void startRefresh() {
+        changedDuringRefresh = new Changes();
+    }
+
+    private synchronized void reset(Seed<List<TaskCount>> seed) {
+        byStatus.clear();
+        for (Status status : Status.values()) {
+            byStatus.put(status, 0L);
+        }
+        openByDueDate.clear();
+        overdue = 0;
+        total = 0;
+        today = LocalDate.now(clock);
+
+        for (TaskCount count : seed.value()) {
+            add(new Snapshot(count.status(), count.dueDate()), count.count());
+        }
+        seededAt = seed.snapshot();
+        changedDuringRefresh.replay(seededAt, this::apply);
+        changedDuringRefresh = null;
+        publish();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        onChange(event, null);
+    }
+
+    /**
+     * Applies a change made by another node in transaction {@code transactionId}, unless the counts were read after
+     * it.
+     */
+    public synchronized void onRemoteChange(TaskChangedEvent event, Long transactionId) {
+        if (!seededAt.covers(transactionId)) {
+            onChange(event, transactionId);
+        }
+    }
+
+    private void onChange(TaskChangedEvent event, Long transactionId) {
+        rollOver();
+        apply(event);
+        if (changedDuringRefresh != null) {
+            changedDuringRefresh.add(event, transactionId);
+        }
+        publish();
+    }
+
+    private void apply(TaskChangedEvent event) {
+        if (event.before() != null) {
+            add(event.before(), -1);
+        }
+        if (event.after() != null) {
+            add(event.after(), 1);
+        }
+    }
+
+    private void add(Snapshot task, long delta) {
+        byStatus.merge(task.status(), delta, Long::sum);
+        total += delta;
+        if (task.status() == Status.COMPLETED || task.dueDate() == null) {
+            return;
+        }
+        if (task.dueDate().isBefore(today)) {
+            overdue += delta;
+        } else {
+            openByDueDate.merge(task.dueDate(), delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+    }
+
+    private void rollOver() {
+        LocalDate now = LocalDate.now(clock);
+        if (!now.isAfter(today)) {
+            return;
+        }
+        Map<LocalDate, Long> nowOverdue = openByDueDate.headMap(now, false);
+        for (long count : nowOverdue.values()) {
+            overdue += count;
+        }
+        nowOverdue.clear();
+        today = now;
+        publish();
+    }
+
+    private void publish() {
+        current = new TaskStats(Collections.unmodifiableMap(new EnumMap<>(byStatus)), overdue, total, today);
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Which transactions' changes a Postgres snapshot sees, as given by {@code pg_current_snapshot()}: every
+ * transaction before {@code xmin}, and those before {@code xmax} that were not still in progress.
+ */
+record TransactionSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+    /**
+     * Sees no transaction, for a reload that was not read from Postgres.
+     */
+    static final TransactionSnapshot NONE = new TransactionSnapshot(0, 0, Set.of());
+
+    /**
+     * Parses the text form, {@code xmin:xmax:xip,...}, where the list of transactions in progress may be empty.
+     */
+    static TransactionSnapshot parse(String snapshot) {
+        String[] parts = snapshot.split(":", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Not a transaction snapshot: " + snapshot);
+        }
+        Set<Long> inProgress = parts[2].isEmpty()
+            ? Set.of()
+            : Arrays.stream(parts[2].split(",")).map(Long::valueOf).collect(Collectors.toUnmodifiableSet());
+        return new TransactionSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+    }
+
+    /**
+     * Whether the changes made by transaction {@code transactionId} are in this snapshot; {@code false} when the
+     * transaction is not known.
+     */
+    boolean covers(Long transactionId) {
+        if (transactionId == null) {
+            return false;
+        }
+        return transactionId < xmin || (transactionId < xmax && !inProgress.contains(transactionId));
+    }
+}
@@ -0,0 +1,83 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.config.LoadSheddingProperties.Limits;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long USUAL = 10_000_000L;
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new Limits(10, 2, 40), 2.0, 0.2);
+
+    @Test
+    void testShouldRefuseOnceTheLimitIsInFlight() {
+        for (int n = 0; n < 10; n++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.isSaturated()).isTrue();
+        assertThat(limit.inFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void testShouldGrowWhileBusyAndLatencyIsUsual() {
+        for (int n = 0; n < 200; n++) {
+            fill();
+            releaseAll(USUAL);
+        }
+
+        assertThat(limit.limit()).isEqualTo(40);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    void testShouldNotGrowWhileMostlyIdle() {
+        for (int n = 0; n < 200; n++) {
+            limit.tryAcquire();
+            limit.release(USUAL);
+        }
+
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void testShouldShrinkWhenLatencyRisesBeyondTheTolerance() {
+        for (int n = 0; n < 20; n++) {
+            fill();
+            releaseAll(USUAL);
+        }
+        int before = limit.limit();
+
+        for (int n = 0; n < 20; n++) {
+            fill();
+            releaseAll(USUAL * 10);
+        }
+
+        assertThat(limit.limit()).isLessThan(before / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void testShouldCutTheLimitWhenTheDatabaseIsOverloaded() {
+        limit.tryAcquire();
+
+        limit.releaseOverloaded();
+
+        assertThat(limit.limit()).isEqualTo(9);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    private void fill() {
+        while (limit.tryAcquire()) {
+            // take every place there is
+        }
+    }
+
+    private void releaseAll(long latencyNanos) {
+        for (int n = limit.inFlight(); n > 0; n--) {
+            limit.release(latencyNanos);
+        }
+    }
+}
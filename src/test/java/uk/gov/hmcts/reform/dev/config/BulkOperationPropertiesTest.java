@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkOperationPropertiesTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testShouldAcceptTheDefaults() {
+        assertThat(validator.validate(new BulkOperationProperties(1000))).isEmpty();
+    }
+
+    @Test
+    void testShouldRejectAChunkSizeThatWouldNeverFinish() {
+        assertThat(validator.validate(new BulkOperationProperties(0)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("chunkSize");
+    }
+
+    @Test
+    void testShouldRejectANegativeChunkSize() {
+        assertThat(validator.validate(new BulkOperationProperties(-1)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("chunkSize");
+    }
+}
@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    private BulkheadDataSource bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        bulkhead = new BulkheadDataSource(pool, "primary", 2, Duration.ofMillis(100));
+    }
+
+    @Test
+    void testShouldTimeOutWhenAllPermitsAreHeld() throws SQLException {
+        when(pool.getConnection()).thenAnswer(inv -> mock(Connection.class));
+        bulkhead.getConnection();
+        bulkhead.getConnection();
+
+        assertThatThrownBy(() -> bulkhead.getConnection())
+            .isInstanceOf(SQLTransientConnectionException.class)
+            .hasMessageContaining("100ms");
+    }
+
+    @Test
+    void testShouldReleasePermitOnceWhenConnectionClosed() throws Exception {
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        Connection first = bulkhead.getConnection();
+        Connection second = bulkhead.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        first.close();
+        first.close();
+
+        assertThat(waiting.get(1, TimeUnit.SECONDS)).isNotNull();
+        assertThatThrownBy(() -> bulkhead.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+        verify(pooled, times(2)).close();
+        second.close();
+    }
+
+    @Test
+    void testShouldReleasePermitWhenPoolFails() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool down"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> bulkhead.getConnection()).hasMessage("pool down");
+        }
+        assertThat(bulkhead.getWaiting()).isZero();
+    }
+
+    @Test
+    void testShouldPublishWaitingCallersTaggedWithThePool() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        bulkhead.bindTo(registry);
+        new BulkheadDataSource(pool, "replica", 2, Duration.ofMillis(100)).bindTo(registry);
+
+        assertThat(registry.get("tasks.datasource.bulkhead.waiting").gauges())
+            .extracting(gauge -> gauge.getId().getTag("pool"))
+            .containsExactlyInAnyOrder("primary", "replica");
+    }
+}
@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.hmcts.reform.dev.config.LoadSheddingProperties.Limits;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingFilterTest {
+
+    private static final LoadSheddingProperties PROPERTIES = new LoadSheddingProperties(
+        true, new Limits(2, 1, 10), new Limits(1, 1, 10), 2.0, 0.2, Duration.ofMillis(1500));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimit reads = new AdaptiveConcurrencyLimit(PROPERTIES.reads(), 2.0, 0.2);
+    private final AdaptiveConcurrencyLimit writes = new AdaptiveConcurrencyLimit(PROPERTIES.writes(), 2.0, 0.2);
+    private final LoadSheddingFilter filter = new LoadSheddingFilter(reads, writes, PROPERTIES, registry);
+
+    @Test
+    void testShouldPassRequestsUnderTheLimitThrough() throws Exception {
+        AtomicBoolean handled = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/tasks"), new MockHttpServletResponse(),
+                        (req, res) -> handled.set(true));
+
+        assertThat(handled).isTrue();
+        assertThat(reads.inFlight()).isZero();
+    }
+
+    @Test
+    void testShouldRefuseWritesBeyondTheLimitWithRetryAfter() throws Exception {
+        writes.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/v1/tasks"), response,
+                        (req, res) -> { throw new AssertionError("should have been refused"); });
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("Service is busy");
+        assertThat(registry.get("tasks.concurrency.rejected").tag("class", "write").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testShouldRefuseReadsWhileWritesAreAtTheirLimit() throws Exception {
+        writes.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/tasks/1"), response, (req, res) -> { });
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(reads.inFlight()).isZero();
+        assertThat(registry.get("tasks.concurrency.rejected").tag("class", "read").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testShouldCutTheLimitWhenARequestEndsOverloaded() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/tasks"), new MockHttpServletResponse(),
+                        (req, res) -> ((MockHttpServletResponse) res).setStatus(503));
+
+        assertThat(reads.limit()).isEqualTo(1);
+        assertThat(registry.get("tasks.concurrency.limit").tag("class", "read").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testShouldNotTimeStatusUpdatesLeftToTheCoalescer() throws Exception {
+        AdaptiveConcurrencyLimit busyWrites = new AdaptiveConcurrencyLimit(new Limits(10, 1, 100), 2.0, 1.0);
+        LoadSheddingFilter busyFilter =
+            new LoadSheddingFilter(reads, busyWrites, PROPERTIES, new SimpleMeterRegistry());
+        for (int i = 0; i < 5; i++) {
+            busyWrites.tryAcquire();
+        }
+
+        busyFilter.doFilter(new MockHttpServletRequest("PATCH", "/v1/tasks/1/status"), new MockHttpServletResponse(),
+                            (req, res) -> LoadSheddingFilter.recordCoalesced());
+
+        // Timed, a request with half the limit in use would have raised it.
+        assertThat(busyWrites.limit()).isEqualTo(10);
+        assertThat(busyWrites.inFlight()).isEqualTo(5);
+    }
+
+    @Test
+    void testShouldLeaveStreamsAndOtherPathsAlone() throws Exception {
+        writes.tryAcquire();
+
+        for (String path : new String[] {"/v1/tasks/changes", "/v1/tasks/export", "/health"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", path), response, (req, res) -> { });
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+}
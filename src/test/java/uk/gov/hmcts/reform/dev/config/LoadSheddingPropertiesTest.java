@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.config.LoadSheddingProperties.Limits;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingPropertiesTest {
+
+    private static final Limits READS = new Limits(20, 4, 200);
+    private static final Limits WRITES = new Limits(20, 4, 200);
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testShouldAcceptTheDefaults() {
+        assertThat(validator.validate(properties(READS, WRITES, 2.0, 0.2))).isEmpty();
+    }
+
+    @Test
+    void testShouldRejectLimitsThatCouldFallToZero() {
+        assertThat(validator.validate(properties(new Limits(0, 0, 200), WRITES, 2.0, 0.2)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactlyInAnyOrder("reads.initial", "reads.min");
+    }
+
+    @Test
+    void testShouldRejectAMinimumAboveTheMaximum() {
+        assertThat(validator.validate(properties(READS, new Limits(20, 50, 10), 2.0, 0.2)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("writes.ordered");
+    }
+
+    @Test
+    void testShouldRejectAnInitialLimitOutsideItsBounds() {
+        assertThat(validator.validate(properties(new Limits(2, 4, 200), new Limits(300, 4, 200), 2.0, 0.2)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactlyInAnyOrder("reads.ordered", "writes.ordered");
+    }
+
+    @Test
+    void testShouldRejectAToleranceBelowUsualLatency() {
+        assertThat(validator.validate(properties(READS, WRITES, 0.5, 0.2)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("tolerance");
+    }
+
+    @Test
+    void testShouldRejectSmoothingOutsideZeroToOne() {
+        assertThat(validator.validate(properties(READS, WRITES, 2.0, 0.0)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("smoothing");
+        assertThat(validator.validate(properties(READS, WRITES, 2.0, 1.5)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("smoothing");
+    }
+
+    private static LoadSheddingProperties properties(Limits reads, Limits writes, double tolerance, double smoothing) {
+        return new LoadSheddingProperties(false, reads, writes, tolerance, smoothing, Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,93 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private final ReadYourWritesFilter filter =
+        new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void testShouldStampWritesWithTheirTime() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PATCH", "/v1/tasks/1/status"), response, (req, res) -> { });
+
+        assertThat(response.getHeader(ReadYourWritesFilter.WRITTEN_AT)).isEqualTo(Long.toString(NOW.toEpochMilli()));
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE))
+            .startsWith(ReadYourWritesFilter.WRITTEN_AT_COOKIE + "=" + NOW.toEpochMilli())
+            .contains("Max-Age=5")
+            .contains("HttpOnly");
+    }
+
+    @Test
+    void testShouldReadFromThePrimaryJustAfterAWrite() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/tasks");
+        request.addHeader(ReadYourWritesFilter.WRITTEN_AT, NOW.minusSeconds(2).toEpochMilli());
+
+        assertThat(primaryRequiredDuring(request)).isTrue();
+        assertThat(ReadRouting.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void testShouldReadFromThePrimaryWhenTheCookieIsRecent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/tasks");
+        request.setCookies(new Cookie(ReadYourWritesFilter.WRITTEN_AT_COOKIE,
+                                      Long.toString(NOW.minusSeconds(1).toEpochMilli())));
+
+        assertThat(primaryRequiredDuring(request)).isTrue();
+    }
+
+    @Test
+    void testShouldLeaveReadsToTheReplicaOnceTheWindowHasPassed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/tasks");
+        request.addHeader(ReadYourWritesFilter.WRITTEN_AT, NOW.minusSeconds(5).toEpochMilli());
+
+        assertThat(primaryRequiredDuring(request)).isFalse();
+    }
+
+    @Test
+    void testShouldReadFromThePrimaryAfterAWriteStampedByAnInstanceWhoseClockIsAhead() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/tasks");
+        request.addHeader(ReadYourWritesFilter.WRITTEN_AT, NOW.plusSeconds(2).toEpochMilli());
+
+        assertThat(primaryRequiredDuring(request)).isTrue();
+    }
+
+    @Test
+    void testShouldIgnoreWriteTimesFurtherInTheFutureThanTheWindow() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/tasks");
+        request.addHeader(ReadYourWritesFilter.WRITTEN_AT, NOW.plusSeconds(3600).toEpochMilli());
+
+        assertThat(primaryRequiredDuring(request)).isFalse();
+    }
+
+    @Test
+    void testShouldIgnoreMalformedWriteTimes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/tasks");
+        request.addHeader(ReadYourWritesFilter.WRITTEN_AT, "yesterday");
+
+        assertThat(primaryRequiredDuring(request)).isFalse();
+    }
+
+    private boolean primaryRequiredDuring(MockHttpServletRequest request) throws Exception {
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                        (req, res) -> primaryRequired.set(ReadRouting.isPrimaryRequired()));
+        return primaryRequired.get();
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.hmcts.reform.dev.config.RequestTiming.Phase;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingFilterTest {
+
+    private final RequestTimingFilter filter =
+        new RequestTimingFilter(new RequestTimingProperties(true, Duration.ofMillis(500), 1.0));
+
+    @Test
+    void testShouldAddServerTimingBeforeTheBodyIsWritten() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/v1/tasks/1"), response, (req, res) -> {
+            RequestTiming timing = RequestTiming.current();
+            timing.enter(Phase.VALIDATE);
+            timing.enter(Phase.SERVICE);
+            timing.statement("update task set title=? where id=? and version=?");
+            timing.database(0);
+            sleep();
+            timing.enter(Phase.RESPOND);
+            res.getOutputStream().write('{');
+            res.getOutputStream().write('}');
+        });
+
+        String header = response.getHeader(RequestTimingFilter.SERVER_TIMING);
+        assertThat(header)
+            .contains("service;dur=")
+            .contains("db;dur=0.0;desc=\"1 SQL statements\"").doesNotContain("serialize")
+            .matches(".*total;dur=\\d+\\.\\d$");
+        assertThat(RequestTiming.current()).isNull();
+    }
+
+    @Test
+    void testShouldAddServerTimingWhenThereIsNoBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/tasks/1"), response,
+                        (req, res) -> ((HttpServletResponse) res).setStatus(304));
+
+        assertThat(response.getHeader(RequestTimingFilter.SERVER_TIMING)).startsWith("bind;dur=");
+    }
+
+    @Test
+    void testShouldChargeDatabaseTimeSeparatelyFromThePhase() {
+        RequestTiming timing = new RequestTiming(0);
+        timing.enter(Phase.SERVICE);
+        timing.database(2_000_000);
+        timing.connection(1_000_000);
+        timing.statement("select 1");
+
+        timing.finish();
+
+        assertThat(timing.summary()).contains("conn=1.0 db=2.0 statements=1");
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
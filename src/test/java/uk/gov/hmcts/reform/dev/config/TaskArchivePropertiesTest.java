@@ -0,0 +1,38 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Period;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskArchivePropertiesTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testShouldAcceptTheDefaults() {
+        assertThat(validator.validate(properties(Duration.ofHours(1), 500))).isEmpty();
+    }
+
+    @Test
+    void testShouldRejectABatchSizeThatWouldNeverFinish() {
+        assertThat(validator.validate(properties(Duration.ofHours(1), 0)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("batchSize");
+    }
+
+    @Test
+    void testShouldRejectAnIntervalTheSchedulerRefuses() {
+        assertThat(validator.validate(properties(Duration.ZERO, 500)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("interval");
+    }
+
+    private static TaskArchiveProperties properties(Duration interval, int batchSize) {
+        return new TaskArchiveProperties(true, Period.ofDays(90), interval, batchSize, Duration.ofMillis(100));
+    }
+}
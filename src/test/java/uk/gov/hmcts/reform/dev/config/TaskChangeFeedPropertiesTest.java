@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedPropertiesTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testShouldAcceptTheDefaults() {
+        assertThat(validator.validate(properties(10_000, Duration.ofSeconds(15)))).isEmpty();
+    }
+
+    @Test
+    void testShouldRejectABufferWithNoRoom() {
+        assertThat(validator.validate(properties(0, Duration.ofSeconds(15))))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("bufferSize");
+    }
+
+    @Test
+    void testShouldRejectAHeartbeatWithNoPause() {
+        assertThat(validator.validate(properties(10_000, Duration.ZERO)))
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactly("heartbeat");
+    }
+
+    private static TaskChangeFeedProperties properties(int bufferSize, Duration heartbeat) {
+        return new TaskChangeFeedProperties(bufferSize, heartbeat, Duration.ofMinutes(30));
+    }
+}
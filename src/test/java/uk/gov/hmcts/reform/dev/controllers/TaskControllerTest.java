@@ -1,26 +1,63 @@
 package uk.gov.hmcts.reform.dev.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import uk.gov.hmcts.reform.dev.dto.BatchItemResult;
+import uk.gov.hmcts.reform.dev.dto.BatchResult;
+import uk.gov.hmcts.reform.dev.dto.BulkResult;
+import uk.gov.hmcts.reform.dev.dto.BulkStatusUpdateDto;
+import uk.gov.hmcts.reform.dev.dto.PartialTaskPage;
 import uk.gov.hmcts.reform.dev.dto.StatusUpdateDto;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.exceptions.InvalidFieldsException;
+import uk.gov.hmcts.reform.dev.models.Status;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.services.BulkTaskUpdater;
+import uk.gov.hmcts.reform.dev.services.IdempotencyStore;
+import uk.gov.hmcts.reform.dev.services.IdempotencyStore.Outcome;
+import uk.gov.hmcts.reform.dev.services.StatusUpdateCoalescer;
+import uk.gov.hmcts.reform.dev.services.TaskChangeFeed;
 import uk.gov.hmcts.reform.dev.services.TaskService;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
 import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
 import static uk.gov.hmcts.reform.dev.models.Status.IN_PROGRESS;
 import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
@@ -31,6 +68,24 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private StatusUpdateCoalescer statusUpdates;
+
+    @Mock
+    private TaskChangeFeed changeFeed;
+
+    @Mock
+    private BulkTaskUpdater bulkUpdates;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
     @InjectMocks
     private TaskController taskController;
 
@@ -55,41 +110,169 @@ class TaskControllerTest {
 
     @Test
     void testGetAllTasksReturnsOk() {
-        when(taskService.getAllTasks()).thenReturn(List.of(existing, updatedData));
+        when(taskService.getCollectionGeneration()).thenReturn("abc-7");
+        when(taskService.getTasks(TaskFilter.none(), ASC, null, 50))
+            .thenReturn(new TaskPage(List.of(existing, updatedData), "next"));
+
+        ResponseEntity<TaskPage> response = taskController.getAllTasks(null, null, null, ASC, null, 50, get(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"abc-7\"", response.getHeaders().getETag());
+        List<Task> tasks = response.getBody().tasks();
+        assertEquals("Old title", tasks.getFirst().getTitle());
+        assertEquals("Old description", tasks.getFirst().getDescription());
+        assertEquals(PENDING, tasks.getFirst().getStatus());
+        assertEquals(LocalDate.of(2025, 8, 15), tasks.getFirst().getDueDate());
+        assertEquals("New title", tasks.getLast().getTitle());
+        assertEquals("New description", tasks.getLast().getDescription());
+        assertEquals(IN_PROGRESS, tasks.getLast().getStatus());
+        assertEquals(LocalDate.of(2025, 8, 20), tasks.getLast().getDueDate());
+        assertEquals("next", response.getBody().nextCursor());
+    }
+
+    @Test
+    void testGetAllTasksPassesFilterAndCursor() {
+        Set<Status> statuses = Set.of(PENDING, IN_PROGRESS);
+        LocalDate dueAfter = LocalDate.of(2025, 8, 1);
+        LocalDate dueBefore = LocalDate.of(2025, 9, 1);
+        TaskFilter filter = new TaskFilter(statuses, dueAfter, dueBefore);
+        when(taskService.getTasks(filter, DESC, "abc", 10)).thenReturn(new TaskPage(List.of(existing), null));
+
+        ResponseEntity<TaskPage> response = taskController.getAllTasks(
+            statuses, dueAfter, dueBefore, DESC, "abc", 10, get(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(existing), response.getBody().tasks());
+        assertNull(response.getBody().nextCursor());
+    }
+
+    @Test
+    void testGetAllTaskFieldsPassesParsedFields() {
+        when(taskService.getCollectionGeneration()).thenReturn("abc-7");
+        Set<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.STATUS);
+        when(taskService.getTaskFields(TaskFilter.none(), ASC, null, 50, fields))
+            .thenReturn(new PartialTaskPage(List.of(Map.of("id", 42L, "status", PENDING)), null));
 
-        ResponseEntity<List<Task>> response = taskController.getAllTasks();
+        ResponseEntity<PartialTaskPage> response =
+            taskController.getAllTaskFields("status, id", null, null, null, ASC, null, 50, get(null));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals("Old title", response.getBody().getFirst().getTitle());
-        assertEquals("Old description", response.getBody().getFirst().getDescription());
-        assertEquals(PENDING, response.getBody().getFirst().getStatus());
-        assertEquals(LocalDate.of(2025, 8, 15), response.getBody().getFirst().getDueDate());
-        assertEquals("New title", response.getBody().getLast().getTitle());
-        assertEquals("New description", response.getBody().getLast().getDescription());
-        assertEquals(IN_PROGRESS, response.getBody().getLast().getStatus());
-        assertEquals(LocalDate.of(2025, 8, 20), response.getBody().getLast().getDueDate());
+        assertEquals("\"abc-7\"", response.getHeaders().getETag());
+        assertEquals(List.of(Map.of("id", 42L, "status", PENDING)), response.getBody().tasks());
+    }
+
+    @Test
+    void testGetAllTaskFieldsRejectsUnknownField() {
+        ServletWebRequest request = get(null);
+
+        assertThrows(InvalidFieldsException.class,
+                     () -> taskController.getAllTaskFields("id,secret", null, null, null, ASC, null, 50, request));
+        verify(taskService, never()).getCollectionGeneration();
+    }
+
+    @Test
+    void testGetAllTasksReturnsNotModifiedWhenGenerationUnchanged() {
+        when(taskService.getCollectionGeneration()).thenReturn("abc-7");
+        ServletWebRequest request = get("\"abc-7\"");
+
+        ResponseEntity<TaskPage> response = taskController.getAllTasks(null, null, null, ASC, null, 50, request);
+
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), request.getResponse().getStatus());
+        assertEquals(HttpHeaders.ACCEPT, request.getResponse().getHeader(HttpHeaders.VARY));
+        verify(taskService, never()).getTasks(any(), any(), any(), Mockito.anyInt());
+    }
+
+    @Test
+    void testExportTasksWritesOneJsonObjectPerLine() throws Exception {
+        doAnswer(inv -> {
+            Consumer<Task> sink = inv.getArgument(0);
+            sink.accept(existing);
+            sink.accept(updatedData);
+            return null;
+        }).when(taskService).exportTasks(any());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        taskController.exportTasks(response);
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals("application/x-ndjson", response.getContentType());
+        assertEquals(2, lines.length);
+        assertEquals("Old title", objectMapper.readTree(lines[0]).get("title").asText());
+        assertEquals("2025-08-15", objectMapper.readTree(lines[0]).get("dueDate").asText());
+        assertEquals("New title", objectMapper.readTree(lines[1]).get("title").asText());
+    }
+
+    @Test
+    void testGetTaskStatsReturnsOk() {
+        TaskStats stats = new TaskStats(Map.of(PENDING, 2L, COMPLETED, 1L), 1, 3, LocalDate.of(2025, 8, 15));
+        when(taskService.getStats()).thenReturn(stats);
+
+        ResponseEntity<TaskStats> response = taskController.getTaskStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+        assertEquals(stats, response.getBody());
+    }
+
+    @Test
+    void testGetOverdueTasksPassesCursorAndLimit() {
+        TaskPage page = new TaskPage(List.of(existing), "next");
+        when(taskService.getOverdueTasks("cursor", 10)).thenReturn(page);
+
+        ResponseEntity<TaskPage> response = taskController.getOverdueTasks("cursor", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
     }
 
     @Test
     void testGetTaskByIdReturnsOk() {
         when(taskService.getTaskById(42L)).thenReturn(existing);
 
-        ResponseEntity<Task> response = taskController.getTask(42L);
+        ResponseEntity<Task> response = taskController.getTask(42L, get(null));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Old title", response.getBody().getTitle());
         assertEquals("Old description", response.getBody().getDescription());
         assertEquals(PENDING, response.getBody().getStatus());
         assertEquals(LocalDate.of(2025, 8, 15), response.getBody().getDueDate());
+        verify(taskService, never()).getTaskVersion(any());
+    }
+
+    @Test
+    void testGetTaskReturnsNotModifiedWhenVersionMatches() {
+        when(taskService.getTaskVersion(42L)).thenReturn(Optional.of(3L));
+        ServletWebRequest request = get("\"3\"");
+
+        ResponseEntity<Task> response = taskController.getTask(42L, request);
+
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), request.getResponse().getStatus());
+        assertEquals(HttpHeaders.ACCEPT, request.getResponse().getHeader(HttpHeaders.VARY));
+        verify(taskService, never()).getTaskById(any());
+    }
+
+    @Test
+    void testGetTaskReturnsBodyWhenVersionHasMoved() {
+        existing.setVersion(4L);
+        when(taskService.getTaskVersion(42L)).thenReturn(Optional.of(4L));
+        when(taskService.getTaskById(42L)).thenReturn(existing);
+
+        ResponseEntity<Task> response = taskController.getTask(42L, get("\"3\""));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        assertEquals("Old title", response.getBody().getTitle());
     }
 
     @Test
     void testCreateTaskReturnsOk() {
-        Task newTask = new Task(123L, "New task", "New description", PENDING, LocalDate.of(2025, 10, 15));
+        Task newTask = new Task(123L, "New task", "New description", PENDING, LocalDate.of(2025, 10, 15), 0L);
 
         when(taskService.addTask(any(Task.class))).thenReturn(newTask);
 
-        ResponseEntity<Task> response = taskController.addTask(newTask);
+        ResponseEntity<Task> response = taskController.addTask(null, newTask);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals("New task", response.getBody().getTitle());
@@ -98,22 +281,84 @@ class TaskControllerTest {
         assertEquals(LocalDate.of(2025, 10, 15), response.getBody().getDueDate());
     }
 
+    @Test
+    void testCreateTaskWithIdempotencyKeyAnswersFromTheStore() {
+        Task newTask = new Task(null, "New task", null, PENDING, LocalDate.of(2025, 10, 15), null);
+        Task created = new Task(123L, "New task", null, PENDING, LocalDate.of(2025, 10, 15), 0L);
+        when(idempotencyStore.createOnce(eq("retry-1"), eq(newTask), any())).thenReturn(new Outcome(created, true));
+
+        ResponseEntity<Task> response = taskController.addTask("retry-1", newTask);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("true", response.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(123L, response.getBody().getId());
+        verify(taskService, never()).addTask(any());
+    }
+
+    @Test
+    void testAddTasksReturnsPerItemResults() {
+        BatchResult result = BatchResult.of(List.of(
+            BatchItemResult.applied(0, 1L, BatchItemResult.Outcome.CREATED),
+            BatchItemResult.invalid(1, null, List.of("title: must not be blank"))
+        ));
+        when(taskService.addTasks(List.of(existing, updatedData))).thenReturn(result);
+
+        ResponseEntity<BatchResult> response = taskController.addTasks(List.of(existing, updatedData));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().applied());
+        assertEquals(1, response.getBody().rejected());
+    }
+
+    @Test
+    void testUpdateTasksReturnsPerItemResults() {
+        BatchResult result = BatchResult.of(List.of(BatchItemResult.notFound(0, 42L)));
+        when(taskService.updateTasks(List.of(existing))).thenReturn(result);
+
+        ResponseEntity<BatchResult> response = taskController.updateTasks(List.of(existing));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(BatchItemResult.Outcome.NOT_FOUND, response.getBody().items().getFirst().outcome());
+    }
+
     @Test
     void testUpdateTaskReturnsOk() {
-        when(taskService.updateTask(eq(42L), any(Task.class))).thenReturn(updatedData);
+        updatedData.setVersion(3L);
+        when(taskService.updateTask(eq(42L), any(Task.class), isNull())).thenReturn(updatedData);
 
-        ResponseEntity<Task> response = taskController.updateTask(42L, updatedData);
+        ResponseEntity<Task> response = taskController.updateTask(42L, null, updatedData);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("New title", response.getBody().getTitle());
         assertEquals("New description", response.getBody().getDescription());
         assertEquals(IN_PROGRESS, response.getBody().getStatus());
         assertEquals(LocalDate.of(2025, 8, 20), response.getBody().getDueDate());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testUpdateTaskUsesIfMatchOverBodyVersion() {
+        updatedData.setVersion(1L);
+        when(taskService.updateTask(eq(42L), any(Task.class), eq(5L))).thenReturn(updatedData);
+
+        taskController.updateTask(42L, "\"5\"", updatedData);
+
+        Mockito.verify(taskService).updateTask(42L, updatedData, 5L);
+    }
+
+    @Test
+    void testUpdateTaskFallsBackToBodyVersion() {
+        updatedData.setVersion(1L);
+        when(taskService.updateTask(eq(42L), any(Task.class), eq(1L))).thenReturn(updatedData);
+
+        taskController.updateTask(42L, null, updatedData);
+
+        Mockito.verify(taskService).updateTask(42L, updatedData, 1L);
     }
 
     @Test
     void testDeleteTaskReturnsNoContent() {
-        new Task(123L, "New Task", "New Description", PENDING, LocalDate.now());
+        new Task(123L, "New Task", "New Description", PENDING, LocalDate.now(), 0L);
         Mockito.doNothing().when(taskService).deleteTaskById(123L);
 
         ResponseEntity<Void> response = taskController.deleteTask(123L);
@@ -127,16 +372,62 @@ class TaskControllerTest {
         StatusUpdateDto status = new StatusUpdateDto(COMPLETED);
         updatedData.setStatus(COMPLETED);
 
-        when(taskService.updateStatus(eq(42L), any(StatusUpdateDto.class))).thenReturn(updatedData);
+        updatedData.setVersion(4L);
+        when(taskService.updateStatus(eq(42L), any(StatusUpdateDto.class), eq(3L))).thenReturn(updatedData);
 
-        ResponseEntity<Task> response = taskController.updateTaskStatus(42L, status);
+        ResponseEntity<Task> response = taskController.updateTaskStatus(42L, "\"3\"", status);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("New title", response.getBody().getTitle());
         assertEquals("New description", response.getBody().getDescription());
         assertEquals(COMPLETED, response.getBody().getStatus());
         assertEquals(LocalDate.of(2025, 8, 20), response.getBody().getDueDate());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testUnconditionalStatusUpdateIsCoalescedWhenEnabled() {
+        updatedData.setStatus(COMPLETED);
+        updatedData.setVersion(4L);
+        when(statusUpdates.isEnabled()).thenReturn(true);
+        when(statusUpdates.updateStatus(42L, COMPLETED)).thenReturn(updatedData);
+
+        ResponseEntity<Task> response = taskController.updateTaskStatus(42L, null, new StatusUpdateDto(COMPLETED));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(COMPLETED, response.getBody().getStatus());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        verify(taskService, never()).updateStatus(any(), any(), any());
     }
 
-}
 
+    @Test
+    void testUpdateTaskStatusesPassesPredicateAndStatus() {
+        TaskPredicate where = new TaskPredicate(null, Set.of(IN_PROGRESS), null, LocalDate.of(2025, 9, 1));
+        when(bulkUpdates.updateStatus(where, COMPLETED)).thenReturn(new BulkResult(2, List.of(42L, 43L)));
+
+        ResponseEntity<BulkResult> response =
+            taskController.updateTaskStatuses(new BulkStatusUpdateDto(where, COMPLETED));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new BulkResult(2, List.of(42L, 43L)), response.getBody());
+    }
+
+    @Test
+    void testDeleteTasksPassesPredicate() {
+        TaskPredicate where = new TaskPredicate(Set.of(42L), null, null, null);
+        when(bulkUpdates.delete(where)).thenReturn(new BulkResult(1, List.of(42L)));
+
+        ResponseEntity<BulkResult> response = taskController.deleteTasks(where);
+
+        assertEquals(new BulkResult(1, List.of(42L)), response.getBody());
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/tasks");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,38 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.dev.controllers.TaskEtags.UNMATCHABLE_VERSION;
+
+class TaskEtagsTest {
+
+    @Test
+    void testShouldQuoteVersionAsStrongEtag() {
+        Task task = new Task();
+        task.setVersion(7L);
+
+        assertThat(TaskEtags.of(task)).isEqualTo("\"7\"");
+    }
+
+    @Test
+    void testShouldHaveNoPreconditionWithoutHeaderOrWithWildcard() {
+        assertThat(TaskEtags.requiredVersion(null)).isNull();
+        assertThat(TaskEtags.requiredVersion(" ")).isNull();
+        assertThat(TaskEtags.requiredVersion("*")).isNull();
+    }
+
+    @Test
+    void testShouldParseStrongEtag() {
+        assertThat(TaskEtags.requiredVersion("\"12\"")).isEqualTo(12L);
+    }
+
+    @Test
+    void testShouldNeverMatchWeakMalformedOrListedEtags() {
+        assertThat(TaskEtags.requiredVersion("W/\"12\"")).isEqualTo(UNMATCHABLE_VERSION);
+        assertThat(TaskEtags.requiredVersion("12")).isEqualTo(UNMATCHABLE_VERSION);
+        assertThat(TaskEtags.requiredVersion("\"abc\"")).isEqualTo(UNMATCHABLE_VERSION);
+        assertThat(TaskEtags.requiredVersion("\"1\", \"2\"")).isEqualTo(UNMATCHABLE_VERSION);
+    }
+}
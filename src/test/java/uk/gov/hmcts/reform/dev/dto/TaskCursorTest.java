@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCursorTest {
+
+    @Test
+    void testShouldRoundTripThroughEncodedForm() {
+        TaskCursor cursor = new TaskCursor(LocalDate.of(2025, 6, 24), 1234L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("2025-06-24");
+        assertThat(TaskCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void testShouldRejectCursorThatIsNotBase64() {
+        assertThatThrownBy(() -> TaskCursor.decode("%%%"))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void testShouldRejectCursorWithBadContent() {
+        String noSeparator = encode("2025-06-24");
+        String badDate = encode("2025-13-01:1");
+        String badId = encode("2025-06-24:abc");
+
+        assertThatThrownBy(() -> TaskCursor.decode(noSeparator)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> TaskCursor.decode(badDate)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> TaskCursor.decode(badId)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
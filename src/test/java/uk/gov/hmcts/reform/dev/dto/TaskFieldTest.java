@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.exceptions.InvalidFieldsException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskFieldTest {
+
+    @Test
+    void testShouldParseFieldsByPropertyNameInDeclaredOrder() {
+        assertThat(TaskField.parse("dueDate, title,id,title"))
+            .containsExactly(TaskField.ID, TaskField.TITLE, TaskField.DUE_DATE);
+    }
+
+    @Test
+    void testShouldRejectUnknownField() {
+        assertThatThrownBy(() -> TaskField.parse("id,due_date"))
+            .isInstanceOf(InvalidFieldsException.class)
+            .hasMessageContaining("due_date")
+            .hasMessageContaining("dueDate");
+    }
+
+    @Test
+    void testShouldRejectEmptyList() {
+        assertThatThrownBy(() -> TaskField.parse(" , ")).isInstanceOf(InvalidFieldsException.class);
+    }
+}
@@ -0,0 +1,249 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import uk.gov.hmcts.reform.dev.dto.TaskCount;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.Chunk;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.StatusChange;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
+import static uk.gov.hmcts.reform.dev.models.Status.IN_PROGRESS;
+import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
+
+class InMemoryTaskStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 15);
+
+    private InMemoryTaskStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryTaskStore();
+    }
+
+    @Test
+    void testShouldAssignIdsAndVersionsOnInsert() {
+        Task first = store.save(task("First", PENDING, DAY));
+        Task second = store.save(task("Second", PENDING, DAY));
+
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second.getId()).isEqualTo(2L);
+        assertThat(first.getVersion()).isZero();
+        assertThat(store.findById(2L)).get().extracting(Task::getTitle).isEqualTo("Second");
+        assertThat(store.findById(3L)).isEmpty();
+    }
+
+    @Test
+    void testShouldHandOutCopies() {
+        long id = store.save(task("Title", PENDING, DAY)).getId();
+
+        store.findById(id).orElseThrow().setTitle("Changed without saving");
+
+        assertThat(store.findById(id).orElseThrow().getTitle()).isEqualTo("Title");
+    }
+
+    @Test
+    void testShouldRefuseToSaveOverANewerVersion() {
+        long id = store.save(task("Title", PENDING, DAY)).getId();
+        Task first = store.findById(id).orElseThrow();
+        Task second = store.findById(id).orElseThrow();
+        first.setTitle("First");
+        store.save(first);
+        second.setTitle("Second");
+
+        assertThatThrownBy(() -> store.save(second)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(store.findById(id).orElseThrow())
+            .extracting(Task::getTitle, Task::getVersion)
+            .containsExactly("First", 1L);
+    }
+
+    @Test
+    void testShouldSaveNoneOfABatchWhenOneConflicts() {
+        Task first = store.save(task("First", PENDING, DAY));
+        Task second = store.save(task("Second", PENDING, DAY));
+        second.setVersion(7L);
+        first.setTitle("Changed");
+
+        assertThatThrownBy(() -> store.saveAll(List.of(first, second)))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(store.findById(first.getId()).orElseThrow().getTitle()).isEqualTo("First");
+    }
+
+    @Test
+    void testShouldPageInDueDateAndIdOrderAcrossStatuses() {
+        store.save(task("a", PENDING, DAY.plusDays(1)));
+        store.save(task("b", COMPLETED, DAY));
+        Task c = store.save(task("c", IN_PROGRESS, DAY));
+        Task d = store.save(task("d", PENDING, DAY));
+
+        assertThat(titles(store.findPage(TaskFilter.none(), ASC, null, 10))).containsExactly("b", "c", "d", "a");
+        assertThat(titles(store.findPage(TaskFilter.none(), DESC, null, 10))).containsExactly("a", "d", "c", "b");
+        assertThat(titles(store.findPage(TaskFilter.none(), ASC, new TaskCursor(DAY, c.getId()), 2)))
+            .containsExactly("d", "a");
+        assertThat(titles(store.findPage(TaskFilter.none(), DESC, new TaskCursor(DAY, d.getId()), 10)))
+            .containsExactly("c", "b");
+    }
+
+    @Test
+    void testShouldPageOnlyMatchingStatusesAndDueDates() {
+        store.save(task("early", PENDING, DAY.minusDays(1)));
+        store.save(task("done", COMPLETED, DAY));
+        store.save(task("pending", PENDING, DAY));
+        store.save(task("started", IN_PROGRESS, DAY.plusDays(1)));
+        store.save(task("late", PENDING, DAY.plusDays(5)));
+        TaskFilter filter = new TaskFilter(Set.of(PENDING, IN_PROGRESS), DAY.minusDays(1), DAY.plusDays(5));
+
+        assertThat(titles(store.findPage(filter, ASC, null, 10))).containsExactly("pending", "started");
+        assertThat(titles(store.findPage(filter, DESC, new TaskCursor(DAY.plusDays(9), 1L), 10)))
+            .containsExactly("started", "pending");
+        assertThat(store.findPage(new TaskFilter(Set.of(), DAY, DAY.minusDays(3)), ASC, null, 10)).isEmpty();
+    }
+
+    @Test
+    void testShouldPageOnlyTheRequestedFields() {
+        store.save(task("late", PENDING, DAY.plusDays(1)));
+        Task early = store.save(task("early", COMPLETED, DAY));
+
+        List<Map<TaskField, Object>> page =
+            store.findPageFields(TaskFilter.none(), ASC, null, 1, EnumSet.of(TaskField.ID, TaskField.TITLE));
+
+        assertThat(page).containsExactly(Map.of(TaskField.ID, early.getId(), TaskField.TITLE, "early"));
+    }
+
+    @Test
+    void testShouldMoveTasksInTheIndexWhenTheirStatusChanges() {
+        long id = store.save(task("Title", PENDING, DAY)).getId();
+
+        StatusChange change = store.updateStatus(id, COMPLETED, 0L).orElseThrow();
+
+        assertThat(change.previousStatus()).isEqualTo(PENDING);
+        assertThat(change.task().getVersion()).isEqualTo(1L);
+        assertThat(store.updateStatus(id, IN_PROGRESS, 0L)).isEmpty();
+        assertThat(store.findPage(new TaskFilter(Set.of(PENDING), null, null), ASC, null, 10)).isEmpty();
+        assertThat(store.countByStatusAndDueDate()).containsExactly(new TaskCount(COMPLETED, DAY, 1L));
+    }
+
+    @Test
+    void testShouldUpdateStatusesOfTheTasksThatExist() {
+        long id = store.save(task("Title", PENDING, DAY)).getId();
+
+        List<StatusChange> changes = store.updateStatuses(Map.of(id, IN_PROGRESS, 99L, COMPLETED));
+
+        assertThat(changes).extracting(change -> change.task().getStatus()).containsExactly(IN_PROGRESS);
+    }
+
+    @Test
+    void testShouldUpdateStatusOfMatchingTasksInChunks() {
+        Task late = store.save(task("late", PENDING, DAY.plusDays(2)));
+        Task early = store.save(task("early", PENDING, DAY));
+        store.save(task("done", COMPLETED, DAY));
+        Task outOfRange = store.save(task("out of range", PENDING, DAY.plusDays(9)));
+        TaskPredicate where = new TaskPredicate(null, Set.of(PENDING), null, DAY.plusDays(5));
+
+        Chunk<StatusChange> first = store.updateStatusWhere(where, null, 1, IN_PROGRESS);
+        Chunk<StatusChange> rest = store.updateStatusWhere(where, first.end(), 10, IN_PROGRESS);
+
+        assertThat(first.changed()).extracting(change -> change.task().getId()).containsExactly(early.getId());
+        assertThat(first.end()).isEqualTo(TaskCursor.after(early));
+        assertThat(rest.changed()).extracting(change -> change.task().getId()).containsExactly(late.getId());
+        assertThat(rest.read()).isEqualTo(1);
+        assertThat(rest.changed().getFirst().previousStatus()).isEqualTo(PENDING);
+        assertThat(store.updateStatusWhere(where, rest.end(), 10, IN_PROGRESS)).isEqualTo(Chunk.empty());
+        assertThat(store.findById(late.getId()).orElseThrow())
+            .extracting(Task::getStatus, Task::getVersion)
+            .containsExactly(IN_PROGRESS, 1L);
+        assertThat(store.findById(outOfRange.getId()).orElseThrow().getStatus()).isEqualTo(PENDING);
+    }
+
+    @Test
+    void testShouldDeleteOnlyNamedTasksThatMatch() {
+        Task first = store.save(task("first", COMPLETED, DAY.plusDays(1)));
+        Task second = store.save(task("second", COMPLETED, DAY));
+        Task pending = store.save(task("pending", PENDING, DAY));
+        TaskPredicate where = new TaskPredicate(
+            Set.of(first.getId(), second.getId(), pending.getId(), 99L), Set.of(COMPLETED), null, null);
+
+        Chunk<Task> deleted = store.deleteWhere(where, null, 10);
+
+        assertThat(deleted.changed()).extracting(Task::getTitle).containsExactly("second", "first");
+        assertThat(deleted.end()).isEqualTo(TaskCursor.after(first));
+        assertThat(store.existsById(pending.getId())).isTrue();
+        assertThat(store.countByStatusAndDueDate()).containsExactly(new TaskCount(PENDING, DAY, 1L));
+    }
+
+    @Test
+    void testShouldDeleteFromTheMapAndTheIndex() {
+        Task task = store.save(task("Title", PENDING, DAY));
+
+        store.delete(task);
+
+        assertThat(store.existsById(task.getId())).isFalse();
+        assertThat(store.findPage(TaskFilter.none(), ASC, null, 10)).isEmpty();
+        assertThat(store.countByStatusAndDueDate()).isEmpty();
+    }
+
+    @Test
+    void testShouldExportEveryTaskInIdOrder() {
+        for (int n = 0; n < 1_200; n++) {
+            store.save(task("Task " + n, PENDING, DAY.plusDays(n % 7)));
+        }
+        List<Long> ids = new ArrayList<>();
+
+        long exported = store.exportAll(task -> ids.add(task.getId()));
+
+        assertThat(exported).isEqualTo(1_200);
+        assertThat(ids).isSorted().hasSize(1_200).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testShouldKeepEveryTaskWhenSavedConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                writers.add(executor.submit(() -> {
+                    for (int n = 0; n < 500; n++) {
+                        store.save(task("Task", Status.values()[n % Status.values().length], DAY.plusDays(n % 30)));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(store.countByStatusAndDueDate().stream().mapToLong(TaskCount::count).sum()).isEqualTo(4_000L);
+        assertThat(store.findById(4_000L)).isPresent();
+    }
+
+    private static Task task(String title, Status status, LocalDate dueDate) {
+        return new Task(null, title, null, status, dueDate, null);
+    }
+
+    private static List<String> titles(List<Task> tasks) {
+        return tasks.stream().map(Task::getTitle).toList();
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.dev.config.TaskArchiveProperties;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.Duration;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JpaTaskStoreTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private JpaTaskStore store;
+
+    @Test
+    void testShouldExportAndDetachEveryTask() {
+        Task first = new Task(1L, "First", null, null, null, 0L);
+        Task second = new Task(2L, "Second", null, null, null, 0L);
+        when(taskRepository.streamAll()).thenReturn(Stream.of(first, second));
+        List<Task> exported = new ArrayList<>();
+
+        long count = store.exportAll(exported::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).containsExactly(first, second);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void testShouldNotReadTheArchiveWhileArchivingIsDisabled() {
+        TaskArchiveProperties disabled =
+            new TaskArchiveProperties(false, Period.ofDays(90), Duration.ofHours(1), 500, Duration.ofMillis(100));
+        JpaTaskStore withoutArchive = new JpaTaskStore(taskRepository, entityManager, disabled);
+
+        assertThat(withoutArchive.findArchivedById(1L)).isEmpty();
+        verifyNoInteractions(taskRepository);
+
+        withoutArchive.countByStatusAndDueDate();
+        verify(taskRepository).countByStatusAndDueDate(false);
+    }
+}
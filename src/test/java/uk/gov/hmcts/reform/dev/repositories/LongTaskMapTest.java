@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongTaskMapTest {
+
+    @Test
+    void testShouldAgreeWithHashMapThroughPutsAndRemoves() {
+        LongTaskMap map = new LongTaskMap();
+        Map<Long, Task> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            // A small key range, so keys are often put again and removed runs are often crossed.
+            long id = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(id)).isSameAs(expected.remove(id));
+            } else {
+                Task task = new Task(id, "Task " + i, null, null, null, 0L);
+                assertThat(map.put(id, task)).isSameAs(expected.put(id, task));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long id = 1; id <= 5_000; id++) {
+            assertThat(map.get(id)).isSameAs(expected.get(id));
+        }
+        assertThat(map.sortedKeys()).isSorted().hasSize(expected.size());
+    }
+
+    @Test
+    void testShouldRejectIdsThatAreNotPositive() {
+        LongTaskMap map = new LongTaskMap();
+
+        assertThatThrownBy(() -> map.put(0, new Task())).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(0)).isNull();
+    }
+}
@@ -0,0 +1,96 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.dev.config.BulkOperationProperties;
+import uk.gov.hmcts.reform.dev.dto.BulkResult;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.Chunk;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
+import static uk.gov.hmcts.reform.dev.models.Status.IN_PROGRESS;
+
+@ExtendWith(MockitoExtension.class)
+class BulkTaskUpdaterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 15);
+    private static final TaskPredicate WHERE = new TaskPredicate(null, Set.of(IN_PROGRESS), null, null);
+
+    @Mock
+    private TaskService taskService;
+
+    private BulkTaskUpdater bulkUpdates;
+
+    @BeforeEach
+    void setUp() {
+        bulkUpdates = new BulkTaskUpdater(taskService, new BulkOperationProperties(2));
+    }
+
+    @Test
+    void testShouldUpdateChunkByChunkFromWhereTheLastOneEnded() {
+        when(taskService.updateStatusChunk(WHERE, COMPLETED, null, 2)).thenReturn(chunk(task(1L), task(5L)));
+        when(taskService.updateStatusChunk(WHERE, COMPLETED, new TaskCursor(DAY, 5L), 2))
+            .thenReturn(chunk(task(7L)));
+
+        BulkResult result = bulkUpdates.updateStatus(WHERE, COMPLETED);
+
+        assertThat(result).isEqualTo(new BulkResult(3, List.of(1L, 5L, 7L)));
+        verify(taskService, times(2)).updateStatusChunk(eq(WHERE), eq(COMPLETED), any(), eq(2));
+    }
+
+    @Test
+    void testShouldCheckForMoreAfterAFullLastChunk() {
+        when(taskService.deleteChunk(WHERE, null, 2)).thenReturn(chunk(task(1L), task(2L)));
+        when(taskService.deleteChunk(WHERE, new TaskCursor(DAY, 2L), 2)).thenReturn(Chunk.empty());
+
+        BulkResult result = bulkUpdates.delete(WHERE);
+
+        assertThat(result).isEqualTo(new BulkResult(2, List.of(1L, 2L)));
+    }
+
+    @Test
+    void testShouldCarryOnFromTheLastTaskReadRatherThanTheLastChanged() {
+        // Task 9 was read but no longer matched once locked; task 4 has since moved to a later due date.
+        when(taskService.updateStatusChunk(WHERE, COMPLETED, null, 2))
+            .thenReturn(new Chunk<>(List.of(new Task(4L, "Task 4", null, COMPLETED, DAY.plusDays(30), 1L)), 2,
+                                    new TaskCursor(DAY, 9L)));
+        when(taskService.updateStatusChunk(WHERE, COMPLETED, new TaskCursor(DAY, 9L), 2))
+            .thenReturn(new Chunk<>(List.of(task(11L), task(4L)), 2, new TaskCursor(DAY.plusDays(30), 4L)));
+        when(taskService.updateStatusChunk(WHERE, COMPLETED, new TaskCursor(DAY.plusDays(30), 4L), 2))
+            .thenReturn(Chunk.empty());
+
+        BulkResult result = bulkUpdates.updateStatus(WHERE, COMPLETED);
+
+        assertThat(result).isEqualTo(new BulkResult(2, List.of(4L, 11L)));
+    }
+
+    @Test
+    void testShouldReturnNothingWhenNothingMatches() {
+        when(taskService.deleteChunk(WHERE, null, 2)).thenReturn(Chunk.empty());
+
+        assertThat(bulkUpdates.delete(WHERE)).isEqualTo(new BulkResult(0, List.of()));
+    }
+
+    private static Task task(long id) {
+        return new Task(id, "Task " + id, null, COMPLETED, DAY, 1L);
+    }
+
+    private static Chunk<Task> chunk(Task... tasks) {
+        return new Chunk<>(List.of(tasks), tasks.length, TaskCursor.after(tasks[tasks.length - 1]));
+    }
+}
@@ -0,0 +1,114 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+import uk.gov.hmcts.reform.dev.config.IdempotencyProperties;
+import uk.gov.hmcts.reform.dev.exceptions.IdempotencyKeyReusedException;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.services.IdempotencyStore.Outcome;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
+import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
+
+class IdempotencyStoreTest {
+
+    private IdempotencyStore store;
+    private AtomicInteger creates;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(new IdempotencyProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+        creates = new AtomicInteger();
+    }
+
+    @Test
+    void testShouldCreateOnceAndReplayLaterRequestsWithTheSameKey() {
+        Outcome first = store.createOnce("key", request(), this::create);
+        Outcome second = store.createOnce("key", request(), this::create);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.task().getId()).isEqualTo(first.task().getId());
+        assertThat(creates).hasValue(1);
+        assertThat(store.createOnce("other", request(), this::create).replayed()).isFalse();
+        assertThat(creates).hasValue(2);
+    }
+
+    @Test
+    void testShouldMakeConcurrentRequestsWaitForTheFirst() throws Exception {
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Outcome> first = CompletableFuture.supplyAsync(
+            () -> store.createOnce("key", request(), () -> {
+                creating.countDown();
+                await(release);
+                return create();
+            }));
+        assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Outcome> second = CompletableFuture.supplyAsync(
+            () -> store.createOnce("key", request(), this::create));
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(second).isNotDone();
+        release.countDown();
+
+        Outcome created = first.get(5, TimeUnit.SECONDS);
+        Outcome replayed = second.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.task().getId()).isEqualTo(created.task().getId());
+        assertThat(replayed.replayed()).isTrue();
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    void testShouldLetAKeyBeRetriedAfterTheCreateFailed() {
+        assertThatThrownBy(() -> store.createOnce("key", request(), () -> {
+            throw new CannotCreateTransactionException("Pool exhausted");
+        })).isInstanceOf(CannotCreateTransactionException.class);
+
+        Outcome retry = store.createOnce("key", request(), this::create);
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    void testShouldRefuseAKeyReusedForADifferentTask() {
+        store.createOnce("key", request(), this::create);
+        Task different = request();
+        different.setStatus(COMPLETED);
+
+        assertThatThrownBy(() -> store.createOnce("key", different, this::create))
+            .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(creates).hasValue(1);
+    }
+
+    private Task create() {
+        Task task = request();
+        task.setId((long) creates.incrementAndGet());
+        task.setVersion(0L);
+        return task;
+    }
+
+    private static Task request() {
+        return new Task(null, "Title", "Description", PENDING, LocalDate.of(2025, 8, 15), null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
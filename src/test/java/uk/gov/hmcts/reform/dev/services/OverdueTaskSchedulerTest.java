@@ -0,0 +1,186 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+import uk.gov.hmcts.reform.dev.events.TaskOverdueEvent;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repositories.TaskStore;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.CREATED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.DELETED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.STATUS_CHANGED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.UPDATED;
+import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
+import static uk.gov.hmcts.reform.dev.models.Status.IN_PROGRESS;
+import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueTaskSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 8, 15);
+    private static final TaskFilter OPEN = new TaskFilter(Set.of(PENDING, IN_PROGRESS), null, null);
+    private static final List<Map<TaskField, Object>> SEED = List.of(
+        open(3L, PENDING, TODAY.minusDays(2)),
+        open(1L, IN_PROGRESS, TODAY.minusDays(1)),
+        open(2L, PENDING, TODAY),
+        open(4L, PENDING, TODAY.plusDays(1))
+    );
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Clock clock;
+
+    private OverdueTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(noon(TODAY));
+        scheduler = new OverdueTaskScheduler(
+            taskStore, new TaskSeedGate(TransactionOperations.withoutTransaction(), null), eventPublisher, clock);
+        when(taskStore.findPageFields(eq(OPEN), eq(ASC), any(), anyInt(), any())).thenReturn(SEED);
+        scheduler.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void testShouldSeedOpenTasksAndListThoseDueBeforeToday() {
+        assertThat(scheduler.overdue(null, 10)).containsExactly(
+            new TaskCursor(TODAY.minusDays(2), 3L), new TaskCursor(TODAY.minusDays(1), 1L));
+        assertThat(scheduler.overdue(new TaskCursor(TODAY.minusDays(2), 3L), 10))
+            .containsExactly(new TaskCursor(TODAY.minusDays(1), 1L));
+        assertThat(scheduler.overdue(null, 1)).containsExactly(new TaskCursor(TODAY.minusDays(2), 3L));
+    }
+
+    @Test
+    void testShouldFollowEachChangeWithoutQueryingAgain() {
+        scheduler.onTaskChanged(new TaskChangedEvent(CREATED, 5L, null, new Snapshot(PENDING, TODAY.minusDays(9))));
+        scheduler.onTaskChanged(new TaskChangedEvent(STATUS_CHANGED, 3L,
+            new Snapshot(PENDING, TODAY.minusDays(2)), new Snapshot(COMPLETED, TODAY.minusDays(2))));
+        scheduler.onTaskChanged(new TaskChangedEvent(UPDATED, 2L,
+            new Snapshot(PENDING, TODAY), new Snapshot(PENDING, TODAY.minusDays(3))));
+        scheduler.onTaskChanged(new TaskChangedEvent(DELETED, 1L,
+            new Snapshot(IN_PROGRESS, TODAY.minusDays(1)), null));
+
+        assertThat(scheduler.overdue(null, 10)).containsExactly(
+            new TaskCursor(TODAY.minusDays(9), 5L), new TaskCursor(TODAY.minusDays(3), 2L));
+        verify(taskStore).findPageFields(any(), any(), any(), anyInt(), any());
+        verifyNoMoreInteractions(taskStore);
+    }
+
+    @Test
+    void testShouldApplyAgainChangesCommittedWhileRefreshing() {
+        when(taskStore.findPageFields(eq(OPEN), eq(ASC), any(), anyInt(), any())).thenAnswer(invocation -> {
+            // Committed after the snapshot the pages are read at, so not in them.
+            scheduler.onTaskChanged(new TaskChangedEvent(CREATED, 5L, null, new Snapshot(PENDING, TODAY.minusDays(9))));
+            scheduler.onTaskChanged(completed(3L));
+            return SEED;
+        });
+
+        scheduler.refresh();
+
+        assertThat(scheduler.overdue(null, 10)).extracting(TaskCursor::id).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void testShouldSkipChangesFromOtherNodesThatTheIndexIncludes() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject("SHOW transaction_isolation", String.class)).thenReturn("repeatable read");
+        when(jdbcTemplate.queryForObject("SELECT pg_current_snapshot()::text", String.class))
+            .thenReturn("100:105:102");
+        OverdueTaskScheduler fromDatabase = new OverdueTaskScheduler(
+            taskStore, new TaskSeedGate(TransactionOperations.withoutTransaction(), jdbcTemplate), eventPublisher,
+            clock);
+        fromDatabase.refresh();
+
+        // An earlier move of task 3, which it has since been moved back from in what was read.
+        fromDatabase.onRemoteChange(new TaskChangedEvent(UPDATED, 3L,
+            new Snapshot(PENDING, TODAY), new Snapshot(PENDING, TODAY.plusDays(5))), 101L);
+        // Completed after the index was read.
+        fromDatabase.onRemoteChange(completed(1L), 104L);
+
+        assertThat(fromDatabase.overdue(null, 10)).extracting(TaskCursor::id).containsExactly(3L);
+    }
+
+    @Test
+    void testShouldAnnounceTasksThatPassTheirDueDate() {
+        scheduler.announceOverdue();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        when(clock.instant()).thenReturn(noon(TODAY.plusDays(2)));
+        scheduler.announceOverdue();
+        scheduler.announceOverdue();
+
+        verify(eventPublisher).publishEvent(new TaskOverdueEvent(2L, PENDING, TODAY));
+        verify(eventPublisher).publishEvent(new TaskOverdueEvent(4L, PENDING, TODAY.plusDays(1)));
+        verifyNoMoreInteractions(eventPublisher);
+        assertThat(scheduler.overdue(null, 10)).extracting(TaskCursor::id).containsExactly(3L, 1L, 2L, 4L);
+    }
+
+    @Test
+    void testShouldNotAnnounceTasksCompletedBeforeTheirDueDate() {
+        scheduler.onTaskChanged(new TaskChangedEvent(STATUS_CHANGED, 2L,
+            new Snapshot(PENDING, TODAY), new Snapshot(COMPLETED, TODAY)));
+
+        when(clock.instant()).thenReturn(noon(TODAY.plusDays(1)));
+        scheduler.announceOverdue();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testShouldTellWhetherATaskIsOverdueToday() {
+        assertThat(scheduler.isOverdue(new Snapshot(PENDING, TODAY.minusDays(1)))).isTrue();
+        assertThat(scheduler.isOverdue(new Snapshot(IN_PROGRESS, TODAY))).isFalse();
+        assertThat(scheduler.isOverdue(new Snapshot(COMPLETED, TODAY.minusDays(1)))).isFalse();
+    }
+
+    private static TaskChangedEvent completed(long id) {
+        Snapshot before = SEED.stream()
+            .filter(task -> task.get(TaskField.ID).equals(id))
+            .map(task -> new Snapshot((Status) task.get(TaskField.STATUS), (LocalDate) task.get(TaskField.DUE_DATE)))
+            .findFirst().orElseThrow();
+        return new TaskChangedEvent(STATUS_CHANGED, id, before, new Snapshot(COMPLETED, before.dueDate()));
+    }
+
+    private static Map<TaskField, Object> open(long id, Status status, LocalDate dueDate) {
+        return Map.of(TaskField.ID, id, TaskField.STATUS, status, TaskField.DUE_DATE, dueDate);
+    }
+
+    private static Instant noon(LocalDate date) {
+        return date.atTime(12, 0).toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,106 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.dev.config.StatusUpdateCoalescingProperties;
+import uk.gov.hmcts.reform.dev.dto.StatusUpdateDto;
+import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
+import static uk.gov.hmcts.reform.dev.models.Status.IN_PROGRESS;
+
+@ExtendWith(MockitoExtension.class)
+class StatusUpdateCoalescerTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private StatusUpdateCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void testShouldFlushOnlyTheLatestStatusForEachTask() throws Exception {
+        coalescer = start(Duration.ofMillis(300), 100);
+        Task task = new Task(42L, "Title", null, COMPLETED, null, 1L);
+        when(taskService.updateStatuses(Map.of(42L, COMPLETED))).thenReturn(Map.of(42L, task));
+
+        CompletableFuture<Task> first = CompletableFuture.supplyAsync(() -> coalescer.updateStatus(42L, IN_PROGRESS));
+        TimeUnit.MILLISECONDS.sleep(50);
+        CompletableFuture<Task> second = CompletableFuture.supplyAsync(() -> coalescer.updateStatus(42L, COMPLETED));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(task);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(task);
+        verify(taskService, times(1)).updateStatuses(any());
+    }
+
+    @Test
+    void testShouldFlushWithoutWaitingOnceBatchIsFull() {
+        coalescer = start(Duration.ofMinutes(1), 1);
+        Task task = new Task(42L, "Title", null, COMPLETED, null, 1L);
+        when(taskService.updateStatuses(Map.of(42L, COMPLETED))).thenReturn(Map.of(42L, task));
+
+        assertThat(coalescer.updateStatus(42L, COMPLETED)).isSameAs(task);
+    }
+
+    @Test
+    void testShouldReportTasksMissingFromTheFlushAsNotFound() {
+        coalescer = start(Duration.ofMillis(10), 100);
+        when(taskService.updateStatuses(Map.of(5L, COMPLETED))).thenReturn(Map.of());
+
+        assertThatThrownBy(() -> coalescer.updateStatus(5L, COMPLETED))
+            .isInstanceOf(TaskNotFoundException.class)
+            .hasMessageContaining("5");
+    }
+
+    @Test
+    void testShouldFlushBufferedUpdatesOnStop() throws Exception {
+        coalescer = start(Duration.ofMinutes(1), 100);
+        Task task = new Task(42L, "Title", null, COMPLETED, null, 1L);
+        when(taskService.updateStatuses(Map.of(42L, COMPLETED))).thenReturn(Map.of(42L, task));
+
+        CompletableFuture<Task> result = CompletableFuture.supplyAsync(() -> coalescer.updateStatus(42L, COMPLETED));
+        TimeUnit.MILLISECONDS.sleep(50);
+        coalescer.stop();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(task);
+        assertThat(coalescer.isRunning()).isFalse();
+    }
+
+    @Test
+    void testShouldApplyDirectlyWhenNotRunning() {
+        coalescer = new StatusUpdateCoalescer(
+            taskService, new StatusUpdateCoalescingProperties(false, Duration.ofMillis(10), 100));
+        Task task = new Task(42L, "Title", null, COMPLETED, null, 1L);
+        when(taskService.updateStatus(42L, new StatusUpdateDto(COMPLETED), null)).thenReturn(task);
+
+        assertThat(coalescer.updateStatus(42L, COMPLETED)).isSameAs(task);
+        verify(taskService, never()).updateStatuses(any());
+    }
+
+    private StatusUpdateCoalescer start(Duration window, int maxBatchSize) {
+        StatusUpdateCoalescer started = new StatusUpdateCoalescer(
+            taskService, new StatusUpdateCoalescingProperties(true, window, maxBatchSize));
+        started.start();
+        return started;
+    }
+}
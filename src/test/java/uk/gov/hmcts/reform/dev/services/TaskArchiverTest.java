@@ -0,0 +1,74 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.dev.config.TaskArchiveProperties;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
+
+@ExtendWith(MockitoExtension.class)
+class TaskArchiverTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 8, 15);
+    private static final LocalDate CUTOFF = TODAY.minusDays(30);
+
+    @Mock
+    private TaskService taskService;
+
+    @Test
+    void testShouldArchiveBatchByBatchUntilOneComesBackShort() {
+        when(taskService.archiveChunk(CUTOFF, 2))
+            .thenReturn(List.of(task(1L), task(2L)))
+            .thenReturn(List.of(task(3L), task(4L)))
+            .thenReturn(List.of(task(5L)));
+
+        long archived = archiver(true).archive();
+
+        assertThat(archived).isEqualTo(5);
+        verify(taskService, times(3)).archiveChunk(CUTOFF, 2);
+    }
+
+    @Test
+    void testShouldStopAfterAnEmptyBatch() {
+        when(taskService.archiveChunk(CUTOFF, 2)).thenReturn(List.of());
+
+        assertThat(archiver(true).archive()).isZero();
+        verify(taskService, times(1)).archiveChunk(CUTOFF, 2);
+    }
+
+    @Test
+    void testShouldNotStartWhenDisabled() {
+        TaskArchiver archiver = archiver(false);
+
+        archiver.start();
+
+        assertThat(archiver.isRunning()).isFalse();
+        verifyNoInteractions(taskService);
+    }
+
+    private TaskArchiver archiver(boolean enabled) {
+        TaskArchiveProperties properties =
+            new TaskArchiveProperties(enabled, Period.ofDays(30), Duration.ofHours(1), 2, Duration.ZERO);
+        Clock clock = Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new TaskArchiver(taskService, properties, clock);
+    }
+
+    private static Task task(long id) {
+        return new Task(id, "Task " + id, null, COMPLETED, CUTOFF.minusDays(1), 1L);
+    }
+}
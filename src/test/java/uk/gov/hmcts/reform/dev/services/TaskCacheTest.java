@@ -0,0 +1,100 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.config.TaskCacheProperties;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.UPDATED;
+import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
+
+class TaskCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskCache taskCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskCache = new TaskCache(new TaskCacheProperties(100, Duration.ofMinutes(1)), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testShouldLoadOnceAndServeLaterReadsFromCache() {
+        Task first = taskCache.get(1L, this::load);
+        Task second = taskCache.get(1L, this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void testShouldNotCacheMissingTasks() {
+        assertThat(taskCache.get(1L, id -> null)).isNull();
+
+        taskCache.get(1L, this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testShouldReloadAfterTaskChanged() {
+        taskCache.get(1L, this::load);
+
+        taskCache.onTaskChanged(new TaskChangedEvent(UPDATED, 1L, null, null));
+        taskCache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testShouldNotKeepLoadThatWasInFlightWhenEvicted() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Task> staleRead = CompletableFuture.supplyAsync(() -> taskCache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return load(id);
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> eviction = CompletableFuture.runAsync(() -> taskCache.evict(1L));
+        release.countDown();
+        staleRead.get(5, TimeUnit.SECONDS);
+        eviction.get(5, TimeUnit.SECONDS);
+
+        taskCache.get(1L, this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    private Task load(Long id) {
+        loads.incrementAndGet();
+        return new Task(id, "Task " + id, null, PENDING, LocalDate.of(2025, 8, 15), 0L);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "tasks").tag("result", result).functionCounter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
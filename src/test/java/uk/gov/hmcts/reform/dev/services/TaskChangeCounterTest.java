@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.CREATED;
+
+class TaskChangeCounterTest {
+
+    @Test
+    void testShouldMoveGenerationOnEveryChange() {
+        TaskChangeCounter counter = new TaskChangeCounter();
+        String before = counter.generation();
+
+        assertThat(counter.generation()).isEqualTo(before);
+
+        counter.onTaskChanged(new TaskChangedEvent(CREATED, 1L, null, null));
+
+        assertThat(counter.generation()).isNotEqualTo(before);
+    }
+
+    @Test
+    void testShouldMoveGenerationOnWhenAdvanced() {
+        TaskChangeCounter counter = new TaskChangeCounter();
+        String before = counter.generation();
+
+        counter.advance();
+
+        assertThat(counter.generation()).isNotEqualTo(before);
+    }
+
+    @Test
+    void testShouldNotShareGenerationsBetweenInstances() {
+        assertThat(new TaskChangeCounter().generation()).isNotEqualTo(new TaskChangeCounter().generation());
+    }
+}
@@ -0,0 +1,97 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.config.TaskChangeFeedProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskChange;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+import uk.gov.hmcts.reform.dev.events.TaskOverdueEvent;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.CREATED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.DELETED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.OVERDUE;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.STATUS_CHANGED;
+import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
+import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
+
+class TaskChangeFeedTest {
+
+    private static final LocalDate DUE = LocalDate.of(2025, 8, 15);
+
+    private TaskChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new TaskChangeFeed(new TaskChangeFeedProperties(3, Duration.ofSeconds(15), Duration.ofMinutes(1)));
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    void testShouldNumberChangesInCommitOrder() throws InterruptedException {
+        feed.onTaskChanged(new TaskChangedEvent(CREATED, 1L, null, new Snapshot(PENDING, DUE)));
+        feed.onTaskChanged(new TaskChangedEvent(STATUS_CHANGED, 1L,
+            new Snapshot(PENDING, DUE), new Snapshot(COMPLETED, DUE)));
+        feed.onTaskChanged(new TaskChangedEvent(DELETED, 1L, new Snapshot(COMPLETED, DUE), null));
+
+        assertThat(feed.changesAfter(0, Duration.ZERO)).containsExactly(
+            new TaskChange(1, CREATED, 1L, PENDING, DUE),
+            new TaskChange(2, STATUS_CHANGED, 1L, COMPLETED, DUE),
+            new TaskChange(3, DELETED, 1L, null, null)
+        );
+        assertThat(feed.changesAfter(2, Duration.ZERO)).extracting(TaskChange::offset).containsExactly(3L);
+    }
+
+    @Test
+    void testShouldSendTasksBecomingOverdueAsChanges() throws InterruptedException {
+        feed.onTaskOverdue(new TaskOverdueEvent(1L, PENDING, DUE));
+
+        assertThat(feed.changesAfter(0, Duration.ZERO)).containsExactly(new TaskChange(1, OVERDUE, 1L, PENDING, DUE));
+    }
+
+    @Test
+    void testShouldReportChangesThatHaveDroppedOutOfTheBuffer() throws InterruptedException {
+        for (long id = 1; id <= 5; id++) {
+            feed.onTaskChanged(new TaskChangedEvent(CREATED, id, null, new Snapshot(PENDING, DUE)));
+        }
+
+        assertThat(feed.changesAfter(1, Duration.ZERO)).isNull();
+        assertThat(feed.changesAfter(2, Duration.ZERO)).extracting(TaskChange::offset).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void testShouldWaitForTheNextChange() throws Exception {
+        CompletableFuture<List<TaskChange>> next = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feed.changesAfter(0, Duration.ofSeconds(5));
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(50);
+        feed.onTaskChanged(new TaskChangedEvent(CREATED, 7L, null, new Snapshot(PENDING, DUE)));
+
+        assertThat(next.get(5, TimeUnit.SECONDS)).extracting(TaskChange::taskId).containsExactly(7L);
+    }
+
+    @Test
+    void testShouldPrefixEventIdsWithAnEpoch() {
+        assertThat(feed.eventId(42)).matches("[0-9a-z]+-42");
+        assertThat(feed.eventId(42)).isNotEqualTo(
+            new TaskChangeFeed(new TaskChangeFeedProperties(3, Duration.ofSeconds(15), Duration.ofMinutes(1)))
+                .eventId(42));
+    }
+}
@@ -0,0 +1,132 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.dev.config.CacheInvalidationProperties;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.CREATED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.DELETED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.STATUS_CHANGED;
+import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
+import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
+
+@ExtendWith(MockitoExtension.class)
+class TaskInvalidationBusTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 15);
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskChangeCounter changeCounter;
+
+    @Mock
+    private TaskStatistics statistics;
+
+    @Mock
+    private OverdueTaskScheduler overdueTasks;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JdbcConnectionDetails connectionDetails;
+
+    private TaskInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        CacheInvalidationProperties properties = new CacheInvalidationProperties(
+            true, Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(30));
+        bus = new TaskInvalidationBus(taskCache, changeCounter, statistics, overdueTasks, jdbcTemplate,
+                                      connectionDetails, properties);
+    }
+
+    @Test
+    void testShouldApplyChangesMadeByAnotherNode() {
+        TaskChangedEvent completed = new TaskChangedEvent(STATUS_CHANGED, 42L,
+            new Snapshot(PENDING, DAY), new Snapshot(COMPLETED, DAY));
+        TaskChangedEvent deleted = new TaskChangedEvent(DELETED, 43L, new Snapshot(PENDING, DAY), null);
+
+        bus.apply("other-node:" + TaskInvalidationBus.encode(completed) + "," + TaskInvalidationBus.encode(deleted));
+
+        verify(taskCache).evict(42L);
+        verify(taskCache).evict(43L);
+        verify(statistics).onRemoteChange(completed, null);
+        verify(statistics).onRemoteChange(deleted, null);
+        verify(overdueTasks).onRemoteChange(completed, null);
+        verify(overdueTasks).onRemoteChange(deleted, null);
+        verify(changeCounter).advance();
+    }
+
+    @Test
+    void testShouldPassOnTheTransactionThatMadeTheChanges() {
+        TaskChangedEvent created = new TaskChangedEvent(CREATED, 42L, null, new Snapshot(PENDING, DAY));
+
+        bus.apply("other-node@7301:" + TaskInvalidationBus.encode(created));
+
+        verify(taskCache).evict(42L);
+        verify(statistics).onRemoteChange(created, 7301L);
+        verify(overdueTasks).onRemoteChange(created, 7301L);
+    }
+
+    @Test
+    void testShouldOnlyEvictTasksNamedByIdAlone() {
+        bus.apply("other-node:42,43");
+
+        verify(taskCache).evict(42L);
+        verify(taskCache).evict(43L);
+        verify(changeCounter).advance();
+        verifyNoInteractions(statistics, overdueTasks);
+    }
+
+    @Test
+    void testShouldIgnoreItsOwnChanges() {
+        bus.apply(bus.nodeId() + ":42|CREATED||PENDING@2025-08-15");
+        bus.apply(bus.nodeId() + "@7301:42|CREATED||PENDING@2025-08-15");
+
+        verifyNoInteractions(taskCache, changeCounter, statistics, overdueTasks);
+    }
+
+    @Test
+    void testShouldSendChangesWithTheNodeId() {
+        bus.notifyChanged(List.of(
+            new TaskChangedEvent(CREATED, 1L, null, new Snapshot(PENDING, DAY)),
+            new TaskChangedEvent(DELETED, 2L, new Snapshot(COMPLETED, DAY), null)));
+
+        verify(jdbcTemplate).queryForList("SELECT pg_notify(?, ? || '@' || pg_current_xact_id()::text || ?)",
+                                          TaskInvalidationBus.CHANNEL, bus.nodeId(),
+                                          ":1|CREATED||PENDING@2025-08-15,2|DELETED|COMPLETED@2025-08-15|");
+    }
+
+    @Test
+    void testShouldSplitPayloadsThatWouldBeTooLong() {
+        List<String> changes = LongStream.rangeClosed(1_000_000, 1_002_000)
+            .mapToObj(id -> TaskInvalidationBus.encode(
+                new TaskChangedEvent(CREATED, id, null, new Snapshot(PENDING, DAY))))
+            .toList();
+
+        List<String> payloads = TaskInvalidationBus.payloads("node", changes);
+
+        assertThat(payloads).hasSizeGreaterThan(1).allMatch(payload -> payload.length() < 8000)
+            .allMatch(payload -> payload.startsWith("node:"));
+        assertThat(payloads.stream().mapToInt(payload -> payload.split(",").length).sum())
+            .isEqualTo(changes.size());
+    }
+}
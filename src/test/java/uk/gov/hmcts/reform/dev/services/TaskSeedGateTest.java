@@ -0,0 +1,81 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.CREATED;
+import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
+
+class TaskSeedGateTest {
+
+    private final TaskSeedGate gate = new TaskSeedGate(TransactionOperations.withoutTransaction(), null);
+
+    @Test
+    void testShouldWaitForACommittingChangeToBeAppliedBeforeStarting() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch applied = new CountDownLatch(1);
+        CompletableFuture<Void> change = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                gate.onTaskChanged(new TaskChangedEvent(CREATED, 1L, null, new Snapshot(PENDING, LocalDate.now())));
+                TransactionSynchronizationUtils.triggerBeforeCommit(false);
+                committing.countDown();
+                await(applied);
+                TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        await(committing);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<TaskSeedGate.Seed<String>> reload =
+            CompletableFuture.supplyAsync(() -> gate.read(started::countDown, () -> "read"));
+
+        assertThat(started.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        applied.countDown();
+        change.get(5, TimeUnit.SECONDS);
+        assertThat(reload.get(5, TimeUnit.SECONDS).value()).isEqualTo("read");
+        assertThat(reload.get().snapshot()).isEqualTo(TransactionSnapshot.NONE);
+    }
+
+    @Test
+    void testShouldNotHoldTheGateForATransactionThatRolledBack() throws Exception {
+        CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                gate.onTaskChanged(new TaskChangedEvent(CREATED, 1L, null, new Snapshot(PENDING, LocalDate.now())));
+                TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(CompletableFuture.supplyAsync(() -> gate.read(() -> { }, () -> "read"))
+                       .get(5, TimeUnit.SECONDS).value()).isEqualTo("read");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
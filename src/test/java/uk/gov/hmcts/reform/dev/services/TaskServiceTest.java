@@ -1,29 +1,68 @@
 package uk.gov.hmcts.reform.dev.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import uk.gov.hmcts.reform.dev.config.TaskCacheProperties;
+import uk.gov.hmcts.reform.dev.dto.BatchResult;
+import uk.gov.hmcts.reform.dev.dto.PartialTaskPage;
 import uk.gov.hmcts.reform.dev.dto.StatusUpdateDto;
+import uk.gov.hmcts.reform.dev.dto.TaskCursor;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPredicate;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+import uk.gov.hmcts.reform.dev.exceptions.InvalidCursorException;
 import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.exceptions.TaskVersionConflictException;
 import uk.gov.hmcts.reform.dev.models.Task;
-import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.Chunk;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepositoryCustom.StatusChange;
+import uk.gov.hmcts.reform.dev.repositories.TaskStore;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static uk.gov.hmcts.reform.dev.dto.BatchItemResult.Outcome.CONFLICT;
+import static uk.gov.hmcts.reform.dev.dto.BatchItemResult.Outcome.CREATED;
+import static uk.gov.hmcts.reform.dev.dto.BatchItemResult.Outcome.INVALID;
+import static uk.gov.hmcts.reform.dev.dto.BatchItemResult.Outcome.NOT_FOUND;
+import static uk.gov.hmcts.reform.dev.dto.BatchItemResult.Outcome.UPDATED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.ARCHIVED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.DELETED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.STATUS_CHANGED;
 import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
 import static uk.gov.hmcts.reform.dev.models.Status.IN_PROGRESS;
 import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
@@ -32,7 +71,29 @@ import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
 class TaskServiceTest {
 
     @Mock
-    private TaskRepository taskRepository;
+    private TaskStore taskStore;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private TaskCache taskCache = new TaskCache(
+        new TaskCacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
+    @Spy
+    private TaskChangeCounter changeCounter = new TaskChangeCounter();
+
+    @Mock
+    private TaskStatistics statistics;
+
+    @Mock
+    private OverdueTaskScheduler overdueTasks;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private TaskService taskService;
@@ -57,46 +118,227 @@ class TaskServiceTest {
     }
 
     @Test
-    void testShouldReturnAllTasks() {
-        when(taskRepository.findAll()).thenReturn(List.of(existing));
+    void testShouldReturnLastPageWithoutCursor() {
+        when(taskStore.findPage(TaskFilter.none(), ASC, null, 51)).thenReturn(List.of(existing));
+
+        TaskPage result = taskService.getTasks(TaskFilter.none(), ASC, null, 50);
+
+        assertThat(result.tasks()).containsExactly(existing);
+        assertThat(result.nextCursor()).isNull();
+        verify(taskStore).findPage(TaskFilter.none(), ASC, null, 51);
+        verifyNoMoreInteractions(taskStore);
+    }
+
+    @Test
+    void testShouldReturnCursorWhenMoreTasksRemain() {
+        Task next = new Task(43L, "Next", null, PENDING, LocalDate.of(2025, 8, 16), 0L);
+        when(taskStore.findPage(TaskFilter.none(), ASC, null, 2)).thenReturn(List.of(existing, next));
+
+        TaskPage result = taskService.getTasks(TaskFilter.none(), ASC, null, 1);
+
+        assertThat(result.tasks()).containsExactly(existing);
+        assertThat(TaskCursor.decode(result.nextCursor())).isEqualTo(new TaskCursor(LocalDate.of(2025, 8, 15), 42L));
+    }
+
+    @Test
+    void testShouldContinueFromCursor() {
+        TaskCursor cursor = new TaskCursor(LocalDate.of(2025, 8, 15), 42L);
+        TaskFilter filter = new TaskFilter(Set.of(IN_PROGRESS), null, LocalDate.of(2025, 12, 31));
+        when(taskStore.findPage(filter, ASC, cursor, 11)).thenReturn(List.of(updatedData));
 
-        List<Task> result = taskService.getAllTasks();
+        TaskPage result = taskService.getTasks(filter, ASC, cursor.encode(), 10);
 
-        assertThat(result).containsExactly(existing);
-        verify(taskRepository).findAll();
-        verifyNoMoreInteractions(taskRepository);
+        assertThat(result.tasks()).containsExactly(updatedData);
+        verify(taskStore).findPage(filter, ASC, cursor, 11);
+    }
+
+    @Test
+    void testShouldReturnOnlyRequestedFieldsWithCursorFromIdAndDueDate() {
+        Set<TaskField> read = EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.DUE_DATE);
+        when(taskStore.findPageFields(TaskFilter.none(), ASC, null, 2, read)).thenReturn(List.of(
+            fields(42L, "Old title", LocalDate.of(2025, 8, 15)),
+            fields(43L, "Next", LocalDate.of(2025, 8, 16))
+        ));
+
+        PartialTaskPage result =
+            taskService.getTaskFields(TaskFilter.none(), ASC, null, 1, EnumSet.of(TaskField.TITLE));
+
+        assertThat(result.tasks()).containsExactly(Map.of("title", "Old title"));
+        assertThat(TaskCursor.decode(result.nextCursor())).isEqualTo(new TaskCursor(LocalDate.of(2025, 8, 15), 42L));
+    }
+
+    @Test
+    void testShouldLoadOverdueTasksInTheIndexOrderAndSkipDeletedOnes() {
+        Task earlier = new Task(43L, "Earlier", null, PENDING, LocalDate.of(2025, 8, 14), 0L);
+        TaskCursor after = new TaskCursor(LocalDate.of(2025, 8, 1), 7L);
+        when(overdueTasks.overdue(after, 3)).thenReturn(List.of(
+            new TaskCursor(LocalDate.of(2025, 8, 14), 43L),
+            new TaskCursor(LocalDate.of(2025, 8, 15), 44L),
+            new TaskCursor(LocalDate.of(2025, 8, 15), 42L)
+        ));
+        when(taskStore.findAllById(List.of(43L, 44L))).thenReturn(List.of(earlier));
+        when(overdueTasks.isOverdue(Snapshot.of(earlier))).thenReturn(true);
+
+        TaskPage result = taskService.getOverdueTasks(after.encode(), 2);
+
+        assertThat(result.tasks()).containsExactly(earlier);
+        assertThat(TaskCursor.decode(result.nextCursor())).isEqualTo(new TaskCursor(LocalDate.of(2025, 8, 15), 44L));
+    }
+
+    @Test
+    void testShouldLeaveOutOverdueTasksTheIndexIsBehindOn() {
+        Task overdue = new Task(43L, "Overdue", null, PENDING, LocalDate.of(2025, 8, 14), 0L);
+        Task completed = new Task(44L, "Completed elsewhere", null, COMPLETED, LocalDate.of(2025, 8, 14), 1L);
+        when(overdueTasks.overdue(null, 3)).thenReturn(List.of(
+            new TaskCursor(LocalDate.of(2025, 8, 14), 43L),
+            new TaskCursor(LocalDate.of(2025, 8, 14), 44L)
+        ));
+        when(taskStore.findAllById(List.of(43L, 44L))).thenReturn(List.of(overdue, completed));
+        when(overdueTasks.isOverdue(Snapshot.of(overdue))).thenReturn(true);
+        when(overdueTasks.isOverdue(Snapshot.of(completed))).thenReturn(false);
+
+        TaskPage result = taskService.getOverdueTasks(null, 2);
+
+        assertThat(result.tasks()).containsExactly(overdue);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void testShouldPublishStatusChangeForEachTaskInAChunk() {
+        TaskPredicate where = new TaskPredicate(Set.of(42L), null, null, null);
+        Task updated = new Task(42L, "Old title", null, COMPLETED, LocalDate.of(2025, 8, 15), 1L);
+        TaskCursor end = new TaskCursor(LocalDate.of(2025, 8, 15), 42L);
+        when(taskStore.updateStatusWhere(where, null, 100, COMPLETED))
+            .thenReturn(new Chunk<>(List.of(new StatusChange(updated, PENDING)), 1, end));
+
+        Chunk<Task> result = taskService.updateStatusChunk(where, COMPLETED, null, 100);
+
+        assertThat(result).isEqualTo(new Chunk<>(List.of(updated), 1, end));
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(STATUS_CHANGED, 42L,
+            new Snapshot(PENDING, LocalDate.of(2025, 8, 15)), new Snapshot(COMPLETED, LocalDate.of(2025, 8, 15))));
+    }
+
+    @Test
+    void testShouldPublishDeletionForEachTaskInAChunk() {
+        TaskPredicate where = new TaskPredicate(null, Set.of(PENDING), null, null);
+        when(taskStore.deleteWhere(where, null, 100))
+            .thenReturn(new Chunk<>(List.of(existing), 1, TaskCursor.after(existing)));
+
+        taskService.deleteChunk(where, null, 100);
+
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(DELETED, 42L, Snapshot.of(existing), null));
+    }
+
+    @Test
+    void testShouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> taskService.getTasks(TaskFilter.none(), ASC, "not-a-cursor", 10))
+            .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoMoreInteractions(taskStore);
+    }
+
+    @Test
+    void testShouldExportEveryTaskFromTheStore() {
+        when(taskStore.exportAll(any())).thenAnswer(inv -> {
+            Consumer<Task> sink = inv.getArgument(0);
+            sink.accept(existing);
+            sink.accept(updatedData);
+            return 2L;
+        });
+        List<Task> exported = new ArrayList<>();
+
+        taskService.exportTasks(exported::add);
+
+        assertThat(exported).containsExactly(existing, updatedData);
     }
 
     @Test
     void testShouldReturnTaskById() {
-        when(taskRepository.findById(42L)).thenReturn(Optional.of(existing));
+        when(taskStore.findById(42L)).thenReturn(Optional.of(existing));
 
         Task result = taskService.getTaskById(42L);
 
-        assertThat(result).isSameAs(existing);
-        verify(taskRepository).findById(42L);
+        assertThat(result).isNotSameAs(existing).usingRecursiveComparison().isEqualTo(existing);
+        verify(taskStore).findById(42L);
+    }
+
+    @Test
+    void testShouldServeRepeatedReadsFromCacheUntilTaskChanges() {
+        when(taskStore.findById(42L)).thenReturn(Optional.of(existing));
+
+        taskService.getTaskById(42L);
+        taskService.getTaskById(42L);
+        verify(taskStore, times(1)).findById(42L);
+
+        taskCache.onTaskChanged(new TaskChangedEvent(STATUS_CHANGED, 42L, null, null));
+        taskService.getTaskById(42L);
+        verify(taskStore, times(2)).findById(42L);
+    }
+
+    @Test
+    void testShouldFallBackToTheArchiveForTasksThatAreNoLongerLive() {
+        Task archived = new Task(7L, "Archived", null, COMPLETED, LocalDate.of(2025, 1, 10), 3L);
+        when(taskStore.findById(7L)).thenReturn(Optional.empty());
+        when(taskStore.findArchivedById(7L)).thenReturn(Optional.of(archived));
+        when(taskStore.findVersionById(8L)).thenReturn(Optional.empty());
+        when(taskStore.findArchivedById(8L)).thenReturn(Optional.of(archived));
+
+        assertThat(taskService.getTaskById(7L).getTitle()).isEqualTo("Archived");
+        assertThat(taskService.getTaskVersion(8L)).contains(3L);
+    }
+
+    @Test
+    void testShouldPublishArchivalOfEachTaskUnchanged() {
+        LocalDate dueBefore = LocalDate.of(2025, 5, 1);
+        Task archived = new Task(7L, "Archived", null, COMPLETED, LocalDate.of(2025, 1, 10), 3L);
+        when(taskStore.archiveCompleted(dueBefore, 100)).thenReturn(List.of(archived));
+
+        List<Task> result = taskService.archiveChunk(dueBefore, 100);
+
+        assertThat(result).containsExactly(archived);
+        Snapshot snapshot = new Snapshot(COMPLETED, LocalDate.of(2025, 1, 10));
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(ARCHIVED, 7L, snapshot, snapshot));
+    }
+
+    @Test
+    void testShouldReadTaskVersionFromCacheWhenPresent() {
+        existing.setVersion(3L);
+        when(taskStore.findById(42L)).thenReturn(Optional.of(existing));
+        taskService.getTaskById(42L);
+
+        assertThat(taskService.getTaskVersion(42L)).contains(3L);
+        verify(taskStore, never()).findVersionById(anyLong());
+    }
+
+    @Test
+    void testShouldReadTaskVersionFromRepositoryOnCacheMiss() {
+        when(taskStore.findVersionById(42L)).thenReturn(Optional.of(5L));
+
+        assertThat(taskService.getTaskVersion(42L)).contains(5L);
+        verify(taskStore, never()).findById(anyLong());
     }
 
     @Test
     void testShouldNotReturnNonExistentTask() {
-        when(taskRepository.findById(99L)).thenReturn(Optional.empty());
+        when(taskStore.findById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.getTaskById(99L))
             .isInstanceOf(TaskNotFoundException.class)
             .hasMessageContaining("99");
 
-        verify(taskRepository).findById(99L);
+        verify(taskStore).findById(99L);
+        assertThat(meterRegistry.get("tasks.not.found").tag("operation", "get").counter().count()).isEqualTo(1);
     }
 
     @Test
     void testShouldUpdateTask() {
-        when(taskRepository.findById(42L)).thenReturn(Optional.of(existing));
-        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(taskStore.findById(42L)).thenReturn(Optional.of(existing));
+        when(taskStore.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        Task result = taskService.updateTask(42L, updatedData);
+        Task result = taskService.updateTask(42L, updatedData, null);
 
         ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
-        verify(taskRepository).save(captor.capture());
+        verify(taskStore).save(captor.capture());
         Task saved = captor.getValue();
 
         assertThat(saved.getId()).isEqualTo(42L);
@@ -106,74 +348,129 @@ class TaskServiceTest {
         assertThat(saved.getDueDate()).isEqualTo(LocalDate.of(2025, 8, 20));
 
         assertThat(result).isSameAs(saved);
-        verify(taskRepository).findById(42L);
+        verify(taskStore).findById(42L);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(TaskChangedEvent.ChangeType.UPDATED, 42L,
+            new Snapshot(PENDING, LocalDate.of(2025, 8, 15)), new Snapshot(IN_PROGRESS, LocalDate.of(2025, 8, 20))));
     }
 
     @Test
     void testShouldNotUpdateNonExistentTask() {
-        when(taskRepository.findById(123L)).thenReturn(Optional.empty());
+        when(taskStore.findById(123L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> taskService.updateTask(123L, updatedData))
+        assertThatThrownBy(() -> taskService.updateTask(123L, updatedData, null))
             .isInstanceOf(TaskNotFoundException.class)
             .hasMessageContaining("123");
 
-        verify(taskRepository).findById(123L);
-        verify(taskRepository, never()).save(any());
+        verify(taskStore).findById(123L);
+        verify(taskStore, never()).save(any());
+    }
+
+    @Test
+    void testShouldNotUpdateTaskAtDifferentVersion() {
+        existing.setVersion(4L);
+        when(taskStore.findById(42L)).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> taskService.updateTask(42L, updatedData, 3L))
+            .isInstanceOf(TaskVersionConflictException.class)
+            .hasMessageContaining("42");
+
+        assertThat(existing.getTitle()).isEqualTo("Old title");
+        verify(taskStore, never()).save(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void testShouldUpdateTaskStatus() {
-        when(taskRepository.findById(42L)).thenReturn(Optional.of(existing));
-        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        existing.setStatus(COMPLETED);
+        when(taskStore.updateStatus(42L, COMPLETED, null))
+            .thenReturn(Optional.of(new StatusChange(existing, PENDING)));
 
         StatusUpdateDto dto = mock(StatusUpdateDto.class);
         when(dto.status()).thenReturn(COMPLETED);
 
-        Task result = taskService.updateStatus(42L, dto);
+        Task result = taskService.updateStatus(42L, dto, null);
 
-        ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
-        verify(taskRepository).save(captor.capture());
-        Task saved = captor.getValue();
-
-        assertThat(saved.getStatus()).isEqualTo(COMPLETED);
-        assertThat(result).isSameAs(saved);
-        verify(taskRepository).findById(42L);
+        assertThat(result).isSameAs(existing);
+        verify(taskStore).updateStatus(42L, COMPLETED, null);
+        verify(taskStore, never()).findById(anyLong());
+        verify(taskStore, never()).save(any());
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(STATUS_CHANGED, 42L,
+            new Snapshot(PENDING, LocalDate.of(2025, 8, 15)), new Snapshot(COMPLETED, LocalDate.of(2025, 8, 15))));
     }
 
     @Test
     void testShouldNotUpdateStatusOfNonExistentTask() {
-        when(taskRepository.findById(5L)).thenReturn(Optional.empty());
+        when(taskStore.updateStatus(5L, COMPLETED, null)).thenReturn(Optional.empty());
         StatusUpdateDto dto = mock(StatusUpdateDto.class);
         when(dto.status()).thenReturn(COMPLETED);
 
-        assertThatThrownBy(() -> taskService.updateStatus(5L, dto))
+        assertThatThrownBy(() -> taskService.updateStatus(5L, dto, null))
             .isInstanceOf(TaskNotFoundException.class)
             .hasMessageContaining("5");
 
-        verify(taskRepository).findById(5L);
-        verify(taskRepository, never()).save(any());
+        verify(taskStore).updateStatus(5L, COMPLETED, null);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testShouldReportVersionConflictWhenStatusUpdateMatchesNoVersion() {
+        when(taskStore.updateStatus(42L, COMPLETED, 3L)).thenReturn(Optional.empty());
+        when(taskStore.existsById(42L)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.updateStatus(42L, new StatusUpdateDto(COMPLETED), 3L))
+            .isInstanceOf(TaskVersionConflictException.class);
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testShouldReportNotFoundWhenConditionalStatusUpdateMatchesNoTask() {
+        when(taskStore.updateStatus(42L, COMPLETED, 3L)).thenReturn(Optional.empty());
+        when(taskStore.existsById(42L)).thenReturn(false);
+
+        assertThatThrownBy(() -> taskService.updateStatus(42L, new StatusUpdateDto(COMPLETED), 3L))
+            .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void testShouldUpdateStatusesTogetherAndCountMissingTasks() {
+        existing.setStatus(COMPLETED);
+        when(taskStore.updateStatuses(Map.of(42L, COMPLETED, 5L, IN_PROGRESS)))
+            .thenReturn(List.of(new StatusChange(existing, PENDING)));
+
+        Map<Long, Task> result = taskService.updateStatuses(Map.of(42L, COMPLETED, 5L, IN_PROGRESS));
+
+        assertThat(result).containsOnlyKeys(42L).containsEntry(42L, existing);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(STATUS_CHANGED, 42L,
+            new Snapshot(PENDING, LocalDate.of(2025, 8, 15)), new Snapshot(COMPLETED, LocalDate.of(2025, 8, 15))));
+        verifyNoMoreInteractions(eventPublisher);
+        assertThat(meterRegistry.get("tasks.not.found").tag("operation", "updateStatus").counter().count())
+            .isEqualTo(1);
     }
 
     @Test
     void testShouldDeleteTask() {
-        when(taskRepository.findById(42L)).thenReturn(Optional.of(existing));
+        when(taskStore.findById(42L)).thenReturn(Optional.of(existing));
 
         taskService.deleteTaskById(42L);
 
-        verify(taskRepository).findById(42L);
-        verify(taskRepository).delete(existing);
+        verify(taskStore).findById(42L);
+        verify(taskStore).delete(existing);
+        verify(eventPublisher).publishEvent(
+            new TaskChangedEvent(DELETED, 42L, new Snapshot(PENDING, LocalDate.of(2025, 8, 15)), null));
     }
 
     @Test
     void testShouldNotDeleteNonExistentTask() {
-        when(taskRepository.findById(77L)).thenReturn(Optional.empty());
+        when(taskStore.findById(77L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.deleteTaskById(77L))
             .isInstanceOf(TaskNotFoundException.class)
             .hasMessageContaining("77");
 
-        verify(taskRepository).findById(77L);
-        verify(taskRepository, never()).delete(any());
+        verify(taskStore).findById(77L);
+        verify(taskStore, never()).delete(any());
+        assertThat(meterRegistry.get("tasks.not.found").tag("operation", "delete").counter().count()).isEqualTo(1);
     }
 
     @Test
@@ -183,12 +480,69 @@ class TaskServiceTest {
         newTask.setDescription("New description 2");
         newTask.setStatus(PENDING);
         newTask.setDueDate(LocalDate.of(2025, 8, 20));
-        when(taskRepository.save(newTask)).thenReturn(newTask);
+        when(taskStore.save(newTask)).thenReturn(newTask);
 
         Task result = taskService.addTask(newTask);
 
         assertThat(result).isSameAs(newTask);
-        verify(taskRepository).save(newTask);
+        verify(taskStore).save(newTask);
     }
-}
 
+    @Test
+    void testShouldAddValidTasksInOneSaveAndReportInvalidOnes() {
+        Task valid = new Task(999L, "Valid", null, PENDING, LocalDate.of(2025, 9, 1), 0L);
+        Task invalid = new Task(null, "", null, null, LocalDate.of(2025, 9, 1), null);
+        when(taskStore.saveAll(List.of(valid))).thenAnswer(inv -> {
+            valid.setId(7L);
+            return List.of(valid);
+        });
+
+        BatchResult result = taskService.addTasks(List.of(valid, invalid));
+
+        assertThat(result.applied()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.items())
+            .extracting("index", "id", "outcome")
+            .containsExactly(tuple(0, 7L, CREATED), tuple(1, null, INVALID));
+        assertThat(result.items().get(1).errors())
+            .containsExactly("status: must not be null", "title: must not be blank");
+    }
+
+    @Test
+    void testShouldUpdateExistingTasksAndReportMissingOnes() {
+        updatedData.setId(42L);
+        Task missing = new Task(100L, "Missing", null, PENDING, LocalDate.of(2025, 9, 1), 0L);
+        Task withoutId = new Task(null, "No id", null, PENDING, LocalDate.of(2025, 9, 1), null);
+        when(taskStore.findAllById(List.of(42L, 100L))).thenReturn(List.of(existing));
+
+        BatchResult result = taskService.updateTasks(List.of(updatedData, missing, withoutId));
+
+        assertThat(result.items())
+            .extracting("index", "id", "outcome")
+            .containsExactly(tuple(0, 42L, UPDATED), tuple(1, 100L, NOT_FOUND), tuple(2, null, INVALID));
+        assertThat(existing.getTitle()).isEqualTo("New title");
+        assertThat(existing.getStatus()).isEqualTo(IN_PROGRESS);
+        verify(taskStore).saveAll(List.of(existing));
+    }
+
+    @Test
+    void testShouldReportConflictForBatchItemAtDifferentVersion() {
+        existing.setVersion(2L);
+        updatedData.setId(42L);
+        updatedData.setVersion(1L);
+        when(taskStore.findAllById(List.of(42L))).thenReturn(List.of(existing));
+
+        BatchResult result = taskService.updateTasks(List.of(updatedData));
+
+        assertThat(result.items()).extracting("outcome").containsExactly(CONFLICT);
+        assertThat(existing.getTitle()).isEqualTo("Old title");
+    }
+
+    private static Map<TaskField, Object> fields(long id, String title, LocalDate dueDate) {
+        Map<TaskField, Object> fields = new EnumMap<>(TaskField.class);
+        fields.put(TaskField.ID, id);
+        fields.put(TaskField.TITLE, title);
+        fields.put(TaskField.DUE_DATE, dueDate);
+        return fields;
+    }
+}
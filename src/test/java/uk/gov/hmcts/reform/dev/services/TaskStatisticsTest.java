@@ -0,0 +1,167 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import uk.gov.hmcts.reform.dev.dto.TaskCount;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent.Snapshot;
+import uk.gov.hmcts.reform.dev.repositories.TaskStore;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.CREATED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.DELETED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.STATUS_CHANGED;
+import static uk.gov.hmcts.reform.dev.events.TaskChangedEvent.ChangeType.UPDATED;
+import static uk.gov.hmcts.reform.dev.models.Status.COMPLETED;
+import static uk.gov.hmcts.reform.dev.models.Status.IN_PROGRESS;
+import static uk.gov.hmcts.reform.dev.models.Status.PENDING;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatisticsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 8, 15);
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private Clock clock;
+
+    private TaskStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(noon(TODAY));
+        statistics = new TaskStatistics(taskStore, new TaskSeedGate(TransactionOperations.withoutTransaction(), null),
+                                        clock);
+        when(taskStore.countByStatusAndDueDate()).thenReturn(List.of(
+            new TaskCount(PENDING, TODAY.minusDays(1), 2L),
+            new TaskCount(PENDING, TODAY, 3L),
+            new TaskCount(IN_PROGRESS, TODAY.plusDays(1), 1L),
+            new TaskCount(COMPLETED, TODAY.minusDays(5), 4L)
+        ));
+        statistics.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void testShouldSeedCountsFromGroupedQuery() {
+        TaskStats stats = statistics.current();
+
+        assertThat(stats.byStatus()).containsEntry(PENDING, 5L).containsEntry(IN_PROGRESS, 1L)
+            .containsEntry(COMPLETED, 4L);
+        assertThat(stats.overdue()).isEqualTo(2);
+        assertThat(stats.total()).isEqualTo(10);
+        assertThat(stats.asOf()).isEqualTo(TODAY);
+    }
+
+    @Test
+    void testShouldApplyEachChangeWithoutQueryingAgain() {
+        statistics.onTaskChanged(new TaskChangedEvent(CREATED, 1L, null, new Snapshot(PENDING, TODAY.minusDays(3))));
+        statistics.onTaskChanged(new TaskChangedEvent(STATUS_CHANGED, 2L,
+            new Snapshot(PENDING, TODAY.minusDays(1)), new Snapshot(COMPLETED, TODAY.minusDays(1))));
+        statistics.onTaskChanged(new TaskChangedEvent(UPDATED, 3L,
+            new Snapshot(IN_PROGRESS, TODAY.plusDays(1)), new Snapshot(IN_PROGRESS, TODAY.minusDays(2))));
+        statistics.onTaskChanged(new TaskChangedEvent(DELETED, 4L, new Snapshot(COMPLETED, TODAY.minusDays(5)), null));
+
+        TaskStats stats = statistics.current();
+
+        assertThat(stats.byStatus()).containsEntry(PENDING, 5L).containsEntry(IN_PROGRESS, 1L)
+            .containsEntry(COMPLETED, 4L);
+        assertThat(stats.overdue()).isEqualTo(3);
+        assertThat(stats.total()).isEqualTo(10);
+        verify(taskStore, times(1)).countByStatusAndDueDate();
+    }
+
+    @Test
+    void testShouldApplyAgainChangesCommittedWhileRefreshing() {
+        when(taskStore.countByStatusAndDueDate()).thenAnswer(invocation -> {
+            // Committed after the snapshot the counts are read at, so not in them.
+            statistics.onTaskChanged(created(11L));
+            statistics.onTaskChanged(new TaskChangedEvent(STATUS_CHANGED, 5L,
+                new Snapshot(PENDING, TODAY), new Snapshot(COMPLETED, TODAY)));
+            return List.of(new TaskCount(PENDING, TODAY, 3L));
+        });
+
+        statistics.refresh();
+
+        TaskStats stats = statistics.current();
+        assertThat(stats.byStatus()).containsEntry(PENDING, 3L).containsEntry(COMPLETED, 1L);
+        assertThat(stats.total()).isEqualTo(4);
+    }
+
+    @Test
+    void testShouldSkipChangesFromOtherNodesThatTheCountsInclude() {
+        TaskStatistics fromDatabase = new TaskStatistics(taskStore, gateAt("100:105:102"), clock);
+        fromDatabase.refresh();
+
+        fromDatabase.onRemoteChange(created(11L), 99L);
+        fromDatabase.onRemoteChange(created(12L), 101L);
+        fromDatabase.onRemoteChange(created(13L), 102L);
+        fromDatabase.onRemoteChange(created(14L), 105L);
+        fromDatabase.onRemoteChange(created(15L), null);
+
+        assertThat(fromDatabase.current().total()).isEqualTo(13);
+    }
+
+    @Test
+    void testShouldOnlyApplyAgainChangesFromOtherNodesThatTheRefreshMissed() {
+        TaskStatistics fromDatabase = new TaskStatistics(taskStore, gateAt("100:105:102"), clock);
+        when(taskStore.countByStatusAndDueDate()).thenAnswer(invocation -> {
+            // Received by another thread while the counts are read.
+            fromDatabase.onRemoteChange(created(11L), 101L);
+            fromDatabase.onRemoteChange(created(12L), 102L);
+            return List.of(new TaskCount(PENDING, TODAY, 3L));
+        });
+
+        fromDatabase.refresh();
+
+        assertThat(fromDatabase.current().total()).isEqualTo(4);
+    }
+
+    @Test
+    void testShouldRollOpenTasksOverToOverdueAtMidnight() {
+        when(clock.instant()).thenReturn(noon(TODAY.plusDays(1)));
+
+        TaskStats stats = statistics.current();
+        assertThat(stats.overdue()).isEqualTo(5);
+        assertThat(stats.asOf()).isEqualTo(TODAY.plusDays(1));
+
+        when(clock.instant()).thenReturn(noon(TODAY.plusDays(2)));
+        statistics.onTaskChanged(new TaskChangedEvent(STATUS_CHANGED, 5L,
+            new Snapshot(IN_PROGRESS, TODAY.plusDays(1)), new Snapshot(COMPLETED, TODAY.plusDays(1))));
+
+        assertThat(statistics.current().overdue()).isEqualTo(5);
+    }
+
+    private static TaskChangedEvent created(long id) {
+        return new TaskChangedEvent(CREATED, id, null, new Snapshot(PENDING, TODAY.plusDays(1)));
+    }
+
+    private static TaskSeedGate gateAt(String snapshot) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject("SHOW transaction_isolation", String.class)).thenReturn("repeatable read");
+        when(jdbcTemplate.queryForObject("SELECT pg_current_snapshot()::text", String.class)).thenReturn(snapshot);
+        return new TaskSeedGate(TransactionOperations.withoutTransaction(), jdbcTemplate);
+    }
+
+    private static Instant noon(LocalDate date) {
+        return date.atTime(12, 0).toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,39 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionSnapshotTest {
+
+    @Test
+    void testShouldCoverTransactionsFinishedBeforeIt() {
+        TransactionSnapshot snapshot = TransactionSnapshot.parse("100:105:102,104");
+
+        assertThat(snapshot.covers(99L)).isTrue();
+        assertThat(snapshot.covers(101L)).isTrue();
+        assertThat(snapshot.covers(103L)).isTrue();
+        assertThat(snapshot.covers(102L)).isFalse();
+        assertThat(snapshot.covers(104L)).isFalse();
+        assertThat(snapshot.covers(105L)).isFalse();
+        assertThat(snapshot.covers(null)).isFalse();
+    }
+
+    @Test
+    void testShouldParseASnapshotWithNothingInProgress() {
+        assertThat(TransactionSnapshot.parse("100:100:")).isEqualTo(new TransactionSnapshot(100, 100, Set.of()));
+    }
+
+    @Test
+    void testShouldCoverNothingWithoutADatabase() {
+        assertThat(TransactionSnapshot.NONE.covers(1L)).isFalse();
+    }
+
+    @Test
+    void testShouldRejectTextThatIsNotASnapshot() {
+        assertThatThrownBy(() -> TransactionSnapshot.parse("100")).isInstanceOf(IllegalArgumentException.class);
+    }
+}